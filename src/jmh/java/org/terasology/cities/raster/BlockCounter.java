@@ -0,0 +1,39 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the blocks that are written during a benchmark iteration. JMH normalizes the
+ * counter like the primary metric, so in average time mode it is reported as time per block.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class BlockCounter {
+
+    /**
+     * The number of written blocks - must be public to be picked up by JMH
+     */
+    public long blocks;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        blocks = 0;
+    }
+
+    /**
+     * @param target the target that was written to
+     * @return the number of blocks that were added
+     */
+    long add(CountingRasterTarget target) {
+        long count = target.takeCount();
+        blocks += count;
+        return count;
+    }
+}
@@ -0,0 +1,85 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.terasology.cities.BlockType;
+import org.terasology.engine.math.Side;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegionc;
+
+import java.util.Set;
+
+/**
+ * A {@link RasterTarget} that forwards all write operations and counts the number of written blocks.
+ */
+class CountingRasterTarget implements RasterTarget {
+
+    private final RasterTarget delegate;
+    private final int minY;
+    private final int maxY;
+
+    private long count;
+
+    /**
+     * @param delegate the target that receives all write operations
+     */
+    CountingRasterTarget(RasterTarget delegate) {
+        this.delegate = delegate;
+        this.minY = delegate.getMinHeight();
+        this.maxY = delegate.getMaxHeight();
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, BlockType type) {
+        count++;
+        delegate.setBlock(x, y, z, type);
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, BlockType type, Set<Side> side) {
+        count++;
+        delegate.setBlock(x, y, z, type, side);
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, BlockType type, byte sideMask) {
+        count++;
+        delegate.setBlock(x, y, z, type, sideMask);
+    }
+
+    @Override
+    public void fillColumn(int x, int z, int bottom, int top, BlockType type) {
+        count += Math.max(0, Math.min(top, maxY + 1) - Math.max(bottom, minY));
+        delegate.fillColumn(x, z, bottom, top, type);
+    }
+
+    @Override
+    public int getMinHeight() {
+        return minY;
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return maxY;
+    }
+
+    @Override
+    public BlockAreac getAffectedArea() {
+        return delegate.getAffectedArea();
+    }
+
+    @Override
+    public BlockRegionc getAffectedRegion() {
+        return delegate.getAffectedRegion();
+    }
+
+    /**
+     * @return the number of blocks written since the last call
+     */
+    long takeCount() {
+        long result = count;
+        count = 0;
+        return result;
+    }
+}
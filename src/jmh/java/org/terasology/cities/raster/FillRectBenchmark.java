@@ -0,0 +1,98 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a 32x32 {@link RasterUtil#fillRect(Pen, BlockAreac)} through the span operations
+ * of the pens against the per-point path that calls {@link Pen#draw(int, int)} for every block.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FillRectBenchmark {
+
+    @Param({"fill", "singleLayer", "floor"})
+    private String pen;
+
+    private final BlockAreac rect = new BlockArea(0, 0).setSize(32, 32);
+
+    private Pen spanPen;
+    private Pen pointPen;
+
+    @Setup
+    public void setup() {
+        MemoryRasterTarget target = new MemoryRasterTarget(0, 63);
+        HeightMap terrain = (x, z) -> 20 + (x ^ z) % 8;
+        switch (pen) {
+            case "fill":
+                spanPen = Pens.fill(target, terrain, HeightMaps.constant(40), DefaultBlockType.BUILDING_WALL);
+                break;
+            case "singleLayer":
+                spanPen = Pens.singleLayer(target, terrain, DefaultBlockType.ROAD_SURFACE);
+                break;
+            case "floor":
+                spanPen = BuildingPens.floorPen(target, terrain, 24, DefaultBlockType.BUILDING_FLOOR);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown pen: " + pen);
+        }
+        pointPen = new PointPen(spanPen);
+    }
+
+    @Benchmark
+    public Pen fillRectSpans() {
+        RasterUtil.fillRect(spanPen, rect);
+        return spanPen;
+    }
+
+    @Benchmark
+    public Pen fillRectPoints() {
+        RasterUtil.fillRect(pointPen, rect);
+        return pointPen;
+    }
+
+    /**
+     * Hides the span operations of the delegate, so that every block goes through {@link Pen#draw(int, int)}.
+     */
+    private static final class PointPen implements Pen {
+
+        private final Pen delegate;
+
+        PointPen(Pen delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void draw(int x, int z) {
+            delegate.draw(x, z);
+        }
+
+        @Override
+        public BlockAreac getTargetArea() {
+            return delegate.getTargetArea();
+        }
+    }
+}
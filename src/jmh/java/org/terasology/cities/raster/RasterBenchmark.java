@@ -0,0 +1,137 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.commonworld.geom.Line2f;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rasterizes one chunk per benchmark operation into a chunk-sized in-memory target.
+ * The primary score is the time per chunk, the secondary score <code>blocks</code> is the time per written block.
+ * Run with <code>-prof gc</code> to get the allocated bytes per chunk (<code>gc.alloc.rate.norm</code>).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RasterBenchmark {
+
+    private static final int CENTER_X = Chunks.SIZE_X / 2;
+    private static final int CENTER_Z = Chunks.SIZE_Z / 2;
+
+    private final BlockAreac chunkArea = new BlockArea(0, 0).setSize(Chunks.SIZE_X, Chunks.SIZE_Z);
+
+    private CountingRasterTarget target;
+
+    private Pen wallPen;
+    private Pen terrainPen;
+    private Pen floorPen;
+    private Pen checkedWallPen;
+
+    private Line2f[] lines;
+    private Shape shape;
+
+    @Setup
+    public void setup() {
+        target = new CountingRasterTarget(new MemoryRasterTarget(0, Chunks.SIZE_Y - 1));
+
+        HeightMap terrain = (x, z) -> 20 + (x * 7 + z * 3) % 10;
+        HeightMap roof = (x, z) -> 40 - Math.abs(x - CENTER_X);
+
+        wallPen = Pens.fill(target, 20, 30, DefaultBlockType.BUILDING_WALL);
+        terrainPen = Pens.fill(target, terrain, roof, DefaultBlockType.ROOF_SADDLE);
+        floorPen = BuildingPens.floorPen(target, terrain, 25, DefaultBlockType.BUILDING_FLOOR);
+
+        // clipped line ends are rounded and may end up one block outside
+        checkedWallPen = new CheckedPen(wallPen);
+
+        // a star of lines that cross the chunk border in all directions
+        lines = new Line2f[16];
+        for (int i = 0; i < lines.length; i++) {
+            double angle = Math.PI * 2 * i / lines.length;
+            float dx = (float) (Math.cos(angle) * Chunks.SIZE_X);
+            float dz = (float) (Math.sin(angle) * Chunks.SIZE_Z);
+            lines[i] = new Line2f(CENTER_X - dx, CENTER_Z - dz, CENTER_X + dx, CENTER_Z + dz);
+        }
+
+        shape = new Ellipse2D.Double(-8, 4, 48, 24);
+    }
+
+    @Benchmark
+    public long fillRect(BlockCounter counter) {
+        RasterUtil.fillRect(wallPen, chunkArea);
+        return counter.add(target);
+    }
+
+    @Benchmark
+    public long drawLine(BlockCounter counter) {
+        for (Line2f line : lines) {
+            RasterUtil.drawLine(checkedWallPen, line);
+        }
+        return counter.add(target);
+    }
+
+    @Benchmark
+    public long drawCircle(BlockCounter counter) {
+        for (int rad = 1; rad < Chunks.SIZE_X; rad += 2) {
+            RasterUtil.drawCircle(wallPen, CENTER_X, CENTER_Z, rad);
+        }
+        return counter.add(target);
+    }
+
+    @Benchmark
+    public long fillCircle(BlockCounter counter) {
+        RasterUtil.fillCircle(wallPen, CENTER_X, CENTER_Z, Chunks.SIZE_X / 2 + 4);
+        return counter.add(target);
+    }
+
+    @Benchmark
+    public long pensFill(BlockCounter counter) {
+        RasterUtil.fillRect(terrainPen, chunkArea);
+        return counter.add(target);
+    }
+
+    @Benchmark
+    public long floorPen(BlockCounter counter) {
+        RasterUtil.fillRect(floorPen, chunkArea);
+        return counter.add(target);
+    }
+
+    @Benchmark
+    public long shapeIterator(BlockCounter counter) {
+        for (Line2D seg : new ShapeIterator(shape, 0.5)) {
+            Line2f line = new Line2f((float) seg.getX1(), (float) seg.getY1(), (float) seg.getX2(), (float) seg.getY2());
+            RasterUtil.drawLine(checkedWallPen, line);
+        }
+        return counter.add(target);
+    }
+
+    @Benchmark
+    public long shapeVisitor(BlockCounter counter) {
+        new ShapeIterator(shape, 0.5).visitSegments((x0, y0, x1, y1) ->
+                RasterUtil.drawLine(checkedWallPen, new Line2f((float) x0, (float) y0, (float) x1, (float) y1)));
+        return counter.add(target);
+    }
+}
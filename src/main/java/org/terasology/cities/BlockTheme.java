@@ -37,18 +37,61 @@ public final class BlockTheme implements Function<BlockType, Block> {
 
     private static final Logger logger = LoggerFactory.getLogger(BlockTheme.class);
 
+    /**
+     * The number of different side bit flag combinations
+     */
+    private static final int SIDE_MASK_COUNT = 1 << Side.values().length;
+
     private final Map<BlockType, Block> blockMap;
     private final Map<BlockType, BlockFamily> familyMap;
 
     private final BlockFamily defaultFamily;
     private final Block defaultBlock;
 
+    /**
+     * The blocks of all {@link DefaultBlockType}s, indexed by ordinal - null if not registered
+     */
+    private final Block[] defaultTypeBlocks;
+
+    /**
+     * The family blocks of all {@link DefaultBlockType}s, indexed by [ordinal][side bit flags] - null if not registered
+     */
+    private final Block[][] defaultTypeSidedBlocks;
+
+    /**
+     * The family blocks of all other block types, indexed by side bit flags
+     */
+    private final Map<BlockType, Block[]> customTypeSidedBlocks = new HashMap<>();
+
     private BlockTheme(Map<BlockType, Block> blocks, Block defBlock,
             Map<BlockType, BlockFamily> families, BlockFamily defFamily) {
         this.blockMap = new HashMap<>(blocks);
         this.defaultBlock = defBlock;
         this.familyMap = new HashMap<>(families);
         this.defaultFamily = defFamily;
+
+        // resolve all default block types once so that lookups are plain array accesses
+        DefaultBlockType[] types = DefaultBlockType.values();
+        this.defaultTypeBlocks = new Block[types.length];
+        this.defaultTypeSidedBlocks = new Block[types.length][];
+
+        for (DefaultBlockType type : types) {
+            defaultTypeBlocks[type.ordinal()] = blockMap.get(type);
+        }
+
+        for (Map.Entry<BlockType, BlockFamily> entry : familyMap.entrySet()) {
+            Block[] sidedBlocks = new Block[SIDE_MASK_COUNT];
+            for (int mask = 0; mask < SIDE_MASK_COUNT; mask++) {
+                sidedBlocks[mask] = resolve(entry.getValue(), SideBitFlag.getSides((byte) mask));
+            }
+
+            BlockType type = entry.getKey();
+            if (type instanceof DefaultBlockType) {
+                defaultTypeSidedBlocks[((DefaultBlockType) type).ordinal()] = sidedBlocks;
+            } else {
+                customTypeSidedBlocks.put(type, sidedBlocks);
+            }
+        }
     }
 
     public static Builder builder(BlockManager blockManager) {
@@ -58,7 +101,12 @@ public static Builder builder(BlockManager blockManager) {
     @Override
     public Block apply(BlockType input) {
 
-        Block block = blockMap.get(input);
+        Block block;
+        if (input instanceof DefaultBlockType) {
+            block = defaultTypeBlocks[((DefaultBlockType) input).ordinal()];
+        } else {
+            block = blockMap.get(input);
+        }
 
         if (block == null) {
             block = defaultBlock;
@@ -75,6 +123,17 @@ public Block apply(BlockType input) {
      */
     public Block apply(BlockType input, Set<Side> sides) {
 
+        Block[] sidedBlocks;
+        if (input instanceof DefaultBlockType) {
+            sidedBlocks = defaultTypeSidedBlocks[((DefaultBlockType) input).ordinal()];
+        } else {
+            sidedBlocks = customTypeSidedBlocks.get(input);
+        }
+
+        if (sidedBlocks != null) {
+            return sidedBlocks[SideBitFlag.getSides(sides)];
+        }
+
         BlockFamily family = familyMap.get(input);
 
         if (family == null) {
@@ -82,6 +141,33 @@ public Block apply(BlockType input, Set<Side> sides) {
             logger.warn("Could not resolve block type \"{}\" - using default", input);
         }
 
+        return resolve(family, sides);
+    }
+
+    /**
+     * Resolves the family block from a precomputed table. This does not allocate
+     * unless the block type has not been registered.
+     * @param input the block type
+     * @param sideMask the connected sides as bit flags (see {@link SideBitFlag})
+     * @return the block
+     */
+    public Block apply(BlockType input, byte sideMask) {
+
+        Block[] sidedBlocks;
+        if (input instanceof DefaultBlockType) {
+            sidedBlocks = defaultTypeSidedBlocks[((DefaultBlockType) input).ordinal()];
+        } else {
+            sidedBlocks = customTypeSidedBlocks.get(input);
+        }
+
+        if (sidedBlocks != null) {
+            return sidedBlocks[sideMask & (SIDE_MASK_COUNT - 1)];
+        }
+
+        return apply(input, SideBitFlag.getSides(sideMask));
+    }
+
+    private static Block resolve(BlockFamily family, Set<Side> sides) {
         BlockUri familyUri = family.getURI().getFamilyUri();
         Block block = null;
         if (sides.size() == 1) {
@@ -16,37 +16,67 @@
 
 package org.terasology.cities.bldg;
 
-import com.google.common.collect.Sets;
+import org.terasology.cities.common.Footprints;
 import org.terasology.cities.deco.Decoration;
 import org.terasology.cities.door.Door;
 import org.terasology.cities.model.roof.Roof;
 import org.terasology.cities.window.Window;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.chunks.Chunks;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Comparator;
+import java.util.List;
 
 /**
- *
+ * Stores windows, doors and decorations in the order in which they were added.
+ * Empty lists do not allocate a backing array. The first area query sorts the decoration positions
+ * by chunk column, so that a chunk only visits the decorations of its own column.
  */
 public abstract class AbstractBuildingPart implements BuildingPart {
 
-    private final Set<Window> windows = Sets.newHashSet();
-    private final Set<Door> doors = Sets.newHashSet();
-    private final Set<Decoration> decorations = new HashSet<>();
+    private static final int COLUMN_STRIDE = 3;
+
+    private final List<Window> windows = new ArrayList<>(0);
+    private final List<Door> doors = new ArrayList<>(0);
+    private final List<Decoration> decorations = new ArrayList<>(0);
+
+    /**
+     * The number of decorations without known position, followed by their indices and
+     * (x, z, index) records of all other decorations, sorted by chunk column and index.
+     * Created by the first area query and reset when a decoration is added.
+     */
+    private volatile int[] decorationColumns;
+
+    /**
+     * The sorted spans of all doors and windows. Created by the first raster call and reset when an opening is added.
+     */
+    private volatile OpeningCarver.Openings openings;
+
     private final int wallHeight;
     private final int baseHeight;
     private final Roof roof;
+    private final BlockRegion boundingRegion;
 
     /**
+     * @param footprint the area that is covered by the walls
      * @param roof the roof definition
      * @param baseHeight the height of the floor level
      * @param wallHeight the building height above the floor level
      */
-    public AbstractBuildingPart(Roof roof, int baseHeight, int wallHeight) {
+    public AbstractBuildingPart(BlockAreac footprint, Roof roof, int baseHeight, int wallHeight) {
         this.roof = roof;
         this.baseHeight = baseHeight;
         this.wallHeight = wallHeight;
+        this.boundingRegion = new BlockRegion(
+                footprint.minX(), baseHeight - 1, footprint.minY(),
+                footprint.maxX(), baseHeight + wallHeight, footprint.maxY());
+        this.boundingRegion.union(roof.getBoundingRegion());
     }
 
     @Override
@@ -54,6 +84,11 @@ public Roof getRoof() {
         return this.roof;
     }
 
+    @Override
+    public BlockRegionc getBoundingRegion() {
+        return boundingRegion;
+    }
+
     @Override
     public int getWallHeight() {
         return this.wallHeight;
@@ -69,6 +104,7 @@ public int getBaseHeight() {
      */
     public void addWindow(Window window) {
         windows.add(window);
+        openings = null;
     }
 
     /**
@@ -76,6 +112,7 @@ public void addWindow(Window window) {
      */
     public void addDoor(Door door) {
         doors.add(door);
+        openings = null;
     }
 
     /**
@@ -83,20 +120,164 @@ public void addDoor(Door door) {
      */
     public void addDecoration(Decoration decoration) {
         decorations.add(decoration);
+        decorationColumns = null;
+    }
+
+    /**
+     * @return the sorted spans of all doors and windows, converted on first access
+     */
+    OpeningCarver.Openings getOpenings() {
+        OpeningCarver.Openings result = openings;
+        if (result == null) {
+            // concurrent calls may both create the spans, but the result is the same
+            result = OpeningCarver.Openings.of(this);
+            openings = result;
+        }
+        return result;
+    }
+
+    @Override
+    public List<Window> getWindows() {
+        return Collections.unmodifiableList(windows);
     }
 
     @Override
-    public Set<Window> getWindows() {
-        return Collections.unmodifiableSet(windows);
+    public List<Door> getDoors() {
+        return Collections.unmodifiableList(doors);
     }
 
     @Override
-    public Set<Door> getDoors() {
-        return Collections.unmodifiableSet(doors);
+    public List<Decoration> getDecorations() {
+        return Collections.unmodifiableList(decorations);
     }
 
     @Override
-    public Set<Decoration> getDecorations() {
-        return Collections.unmodifiableSet(decorations);
+    public List<Decoration> getDecorations(BlockAreac area) {
+        if (decorations.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int[] columns = decorationColumns;
+        if (columns == null) {
+            // concurrent queries may both create the array, but the result is the same
+            columns = createDecorationColumns();
+            decorationColumns = columns;
+        }
+
+        int unknown = columns[0];
+        int start = 1 + unknown;
+        int count = (columns.length - start) / COLUMN_STRIDE;
+        int minChunkX = Math.floorDiv(area.minX(), Chunks.SIZE_X);
+        int maxChunkX = Math.floorDiv(area.maxX(), Chunks.SIZE_X);
+        int minChunkZ = Math.floorDiv(area.minY(), Chunks.SIZE_Z);
+        int maxChunkZ = Math.floorDiv(area.maxY(), Chunks.SIZE_Z);
+
+        if (unknown == 0 && minChunkX == maxChunkX && minChunkZ == maxChunkZ) {
+            // the common case: the records of a single chunk column are already in insertion order
+            List<Decoration> result = null;
+            int i = findFirstColumn(columns, start, count, minChunkX, minChunkZ);
+            for (; i < count && compareChunk(columns, start + i * COLUMN_STRIDE, minChunkX, minChunkZ) == 0; i++) {
+                int offset = start + i * COLUMN_STRIDE;
+                if (area.contains(columns[offset], columns[offset + 1])) {
+                    if (result == null) {
+                        result = new ArrayList<>();
+                    }
+                    result.add(decorations.get(columns[offset + 2]));
+                }
+            }
+            return (result != null) ? result : Collections.emptyList();
+        }
+
+        // decorations without known position are returned for every area
+        int[] found = new int[unknown + count];
+        System.arraycopy(columns, 1, found, 0, unknown);
+        int n = unknown;
+        for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+            for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+                int i = findFirstColumn(columns, start, count, cx, cz);
+                for (; i < count && compareChunk(columns, start + i * COLUMN_STRIDE, cx, cz) == 0; i++) {
+                    int offset = start + i * COLUMN_STRIDE;
+                    if (area.contains(columns[offset], columns[offset + 1])) {
+                        found[n++] = columns[offset + 2];
+                    }
+                }
+            }
+        }
+
+        if (n == 0) {
+            return Collections.emptyList();
+        }
+
+        // restore the insertion order across chunk columns
+        Arrays.sort(found, 0, n);
+        List<Decoration> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(decorations.get(found[i]));
+        }
+        return result;
+    }
+
+    private int[] createDecorationColumns() {
+        int size = decorations.size();
+        int[] xs = new int[size];
+        int[] zs = new int[size];
+        List<Integer> unknown = new ArrayList<>(0);
+        List<Integer> known = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BlockArea footprint = Footprints.of(decorations.get(i));
+            if (footprint.isValid()) {
+                xs[i] = footprint.minX();
+                zs[i] = footprint.minY();
+                known.add(i);
+            } else {
+                unknown.add(i);
+            }
+        }
+
+        // the sort is stable, so the records of every chunk column stay in insertion order
+        known.sort(Comparator.<Integer>comparingInt(i -> Math.floorDiv(xs[i], Chunks.SIZE_X))
+                .thenComparingInt(i -> Math.floorDiv(zs[i], Chunks.SIZE_Z)));
+
+        int[] columns = new int[1 + unknown.size() + known.size() * COLUMN_STRIDE];
+        columns[0] = unknown.size();
+        for (int i = 0; i < unknown.size(); i++) {
+            columns[1 + i] = unknown.get(i);
+        }
+        int offset = 1 + unknown.size();
+        for (int index : known) {
+            columns[offset] = xs[index];
+            columns[offset + 1] = zs[index];
+            columns[offset + 2] = index;
+            offset += COLUMN_STRIDE;
+        }
+        return columns;
+    }
+
+    /**
+     * @return the index of the first record at or after the given chunk column
+     */
+    private static int findFirstColumn(int[] columns, int start, int count, int chunkX, int chunkZ) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compareChunk(columns, start + mid * COLUMN_STRIDE, chunkX, chunkZ) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Compares the chunk column of the record at the given offset with the given chunk column.
+     */
+    private static int compareChunk(int[] columns, int offset, int chunkX, int chunkZ) {
+        int cmp = Integer.compare(Math.floorDiv(columns[offset], Chunks.SIZE_X), chunkX);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return Integer.compare(Math.floorDiv(columns[offset + 1], Chunks.SIZE_Z), chunkZ);
     }
 }
@@ -16,6 +16,8 @@
 
 package org.terasology.cities.bldg;
 
+import org.terasology.engine.world.block.BlockRegionc;
+
 import java.util.Collection;
 
 /**
@@ -28,4 +30,9 @@ public interface Building {
      */
     Collection<BuildingPart> getParts();
 
+    /**
+     * @return the union of the bounding regions of all parts
+     */
+    BlockRegionc getBoundingRegion();
+
 }
@@ -20,8 +20,10 @@
 import org.terasology.cities.door.Door;
 import org.terasology.cities.model.roof.Roof;
 import org.terasology.cities.window.Window;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegionc;
 
-import java.util.Set;
+import java.util.List;
 
 /**
  * Defines a part of a building.
@@ -42,7 +44,32 @@ default int getTopHeight() {
         return getBaseHeight() + getWallHeight();
     }
 
-    Set<Window> getWindows();
-    Set<Door> getDoors();
-    Set<Decoration> getDecorations();
+    /**
+     * The region spans from the floor level (baseHeight - 1) to the top of walls and roof.
+     * Foundations below the floor level depend on the terrain and are not included.
+     * @return the region that is occupied by the building part (computed at construction time)
+     */
+    BlockRegionc getBoundingRegion();
+
+    /**
+     * @return the windows in the order in which they were added
+     */
+    List<Window> getWindows();
+
+    /**
+     * @return the doors in the order in which they were added
+     */
+    List<Door> getDoors();
+
+    /**
+     * @return the decorations in the order in which they were added
+     */
+    List<Decoration> getDecorations();
+
+    /**
+     * @param area the area of interest, usually a chunk
+     * @return the decorations whose column is inside the area and all decorations without known column,
+     *     in the order in which they were added
+     */
+    List<Decoration> getDecorations(BlockAreac area);
 }
@@ -0,0 +1,28 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg;
+
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.commonworld.heightmap.HeightMap;
+
+/**
+ * Converts building parts of a certain type into blocks. Implementations must be stateless,
+ * because the same instance is used for different targets in parallel.
+ * @param <T> the building part type
+ */
+public interface BuildingPartRasterizer<T extends BuildingPart> {
+
+    /**
+     * @return the building part class that is supported by this rasterizer (including sub-classes)
+     */
+    Class<T> getTargetClass();
+
+    /**
+     * Writes the part of the building part that is inside the affected area of the target.
+     * @param target the target to write to
+     * @param part the building part
+     * @param heightMap the terrain height map
+     */
+    void raster(RasterTarget target, T part, HeightMap heightMap);
+}
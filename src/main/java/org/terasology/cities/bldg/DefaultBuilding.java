@@ -21,6 +21,8 @@
 import java.util.Collections;
 
 import org.terasology.commonworld.Orientation;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
 
 /**
  * A building - composed of {@link BuildingPart} instances.
@@ -29,6 +31,7 @@ public class DefaultBuilding implements Building {
 
     private final Orientation orient;
     private final Collection<BuildingPart> parts = new ArrayList<>();
+    private final BlockRegion boundingRegion = new BlockRegion(BlockRegion.INVALID);
 
     /**
      * @param orient the building's orientation
@@ -46,6 +49,7 @@ public Orientation getOrientation() {
 
     public void addPart(BuildingPart part) {
         parts.add(part);
+        boundingRegion.union(part.getBoundingRegion());
     }
 
     @Override
@@ -53,5 +57,13 @@ public Collection<BuildingPart> getParts() {
         return Collections.unmodifiableCollection(parts);
     }
 
+    /**
+     * @return the union of the bounding regions of all parts or {@link BlockRegion#INVALID} if there are no parts
+     */
+    @Override
+    public BlockRegionc getBoundingRegion() {
+        return boundingRegion;
+    }
+
 
 }
@@ -28,9 +28,10 @@ public class HollowBuildingPart extends AbstractBuildingPart implements Rectangu
 
     private final int arcRadius;
     private final BlockArea layout = new BlockArea(BlockArea.INVALID);
+    private volatile int[] archProfile;  // created by the first raster call
 
     public HollowBuildingPart(BlockAreac layout, Roof roof, int baseHeight, int wallHeight, int arcRadius) {
-        super(roof, baseHeight, wallHeight);
+        super(layout, roof, baseHeight, wallHeight);
         this.layout.set(layout);
         this.arcRadius = arcRadius;
     }
@@ -43,4 +44,17 @@ public BlockAreac getShape() {
     public int getArcRadius() {
         return arcRadius;
     }
+
+    /**
+     * @return the arch profile of the walls, see {@link HollowPartRasterizer#createArchProfile(int, int)}.
+     *     The array is shared and must not be modified.
+     */
+    int[] getArchProfile() {
+        int[] result = archProfile;
+        if (result == null) {
+            result = HollowPartRasterizer.createArchProfile(arcRadius, getWallHeight());
+            archProfile = result;
+        }
+        return result;
+    }
 }
@@ -0,0 +1,117 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg;
+
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.cities.deco.DecorationRasterizer;
+import org.terasology.cities.model.roof.Roof;
+import org.terasology.cities.raster.BuildingPens;
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.cities.raster.RasterUtil;
+import org.terasology.cities.raster.roof.RoofRasterizer;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.engine.world.block.BlockAreac;
+
+/**
+ * Converts {@link HollowBuildingPart}s into blocks: floor, walls with a row of round arches, doors and windows,
+ * decorations and roof.
+ * The arch profile is computed once per part and stamped along all four walls as column spans.
+ */
+public class HollowPartRasterizer implements BuildingPartRasterizer<HollowBuildingPart> {
+
+    private final RoofRasterizer<Roof> roofRasterizer;
+    private final DecorationRasterizer decorationRasterizer = new DecorationRasterizer();
+
+    /**
+     * @param roofRasterizer rasterizes the roofs of the parts
+     */
+    public HollowPartRasterizer(RoofRasterizer<Roof> roofRasterizer) {
+        this.roofRasterizer = roofRasterizer;
+    }
+
+    @Override
+    public Class<HollowBuildingPart> getTargetClass() {
+        return HollowBuildingPart.class;
+    }
+
+    @Override
+    public void raster(RasterTarget target, HollowBuildingPart part, HeightMap heightMap) {
+        BlockAreac rc = part.getShape();
+        int baseHeight = part.getBaseHeight();
+
+        RasterUtil.fillRect(BuildingPens.floorPen(target, heightMap, baseHeight, DefaultBlockType.BUILDING_FLOOR), rc);
+
+        int[] profile = part.getArchProfile();
+        int top = baseHeight + part.getWallHeight();
+        OpeningCarver carver = OpeningCarver.of(part);
+
+        // walls along the x axis including the corners, then walls along the z axis without them
+        int sizeX = rc.getSizeX();
+        int sizeZ = rc.getSizeY();
+        stampWall(target, carver, rc.minX(), rc.minY(), 1, 0, sizeX, 0, sizeX - 1, profile, baseHeight, top);
+        stampWall(target, carver, rc.minX(), rc.maxY(), 1, 0, sizeX, 0, sizeX - 1, profile, baseHeight, top);
+        stampWall(target, carver, rc.minX(), rc.minY(), 0, 1, sizeZ, 1, sizeZ - 2, profile, baseHeight, top);
+        stampWall(target, carver, rc.maxX(), rc.minY(), 0, 1, sizeZ, 1, sizeZ - 2, profile, baseHeight, top);
+        carver.carveRemaining(target);
+        decorationRasterizer.raster(target, part);
+
+        roofRasterizer.raster(target, part.getRoof());
+    }
+
+    /**
+     * One period of the arcade consists of a pillar at offset zero, followed by an arch that is
+     * <code>2 * arcRadius</code> blocks wide. The arches start at <code>wallHeight - arcRadius - 2</code>,
+     * so that at least one layer of wall remains above the crown.
+     * @param arcRadius the radius of the arches
+     * @param wallHeight the height of the walls
+     * @return the height of the opening above the base height per offset in the period
+     */
+    static int[] createArchProfile(int arcRadius, int wallHeight) {
+        if (arcRadius <= 0) {
+            return new int[] {0};
+        }
+
+        int[] profile = new int[2 * arcRadius + 1];
+        int springLine = wallHeight - arcRadius - 2;
+        double center = arcRadius + 0.5;
+        for (int t = 1; t < profile.length; t++) {
+            double dx = t - center;
+            int rise = (int) Math.sqrt(arcRadius * arcRadius - dx * dx);
+            profile[t] = Math.max(0, Math.min(wallHeight - 1, springLine + rise));
+        }
+        return profile;
+    }
+
+    /**
+     * Stamps the profile along a straight wall. The first and the last block of the wall are corners
+     * that are always solid. Only the blocks from <code>first</code> to <code>last</code> (inclusive) that are
+     * inside the target area are visited, so walls that share corners do not draw them twice.
+     * Doors and windows are merged into the wall columns by the carver.
+     */
+    private static void stampWall(RasterTarget target, OpeningCarver carver, int x0, int z0, int dx, int dz, int length,
+                                  int first, int last, int[] profile, int baseHeight, int top) {
+        BlockAreac area = target.getAffectedArea();
+        int from;
+        int to;
+        if (dx != 0) {
+            if (z0 < area.minY() || z0 > area.maxY()) {
+                return;
+            }
+            from = Math.max(first, area.minX() - x0);
+            to = Math.min(last, area.maxX() - x0);
+        } else {
+            if (x0 < area.minX() || x0 > area.maxX()) {
+                return;
+            }
+            from = Math.max(first, area.minY() - z0);
+            to = Math.min(last, area.maxY() - z0);
+        }
+
+        for (int i = from; i <= to; i++) {
+            boolean corner = (i == 0 || i == length - 1);
+            int opening = corner ? 0 : profile[i % profile.length];
+            carver.drawWallColumn(target, x0 + i * dx, z0 + i * dz, baseHeight + opening, top, DefaultBlockType.BUILDING_WALL);
+        }
+    }
+}
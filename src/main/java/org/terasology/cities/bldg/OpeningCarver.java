@@ -0,0 +1,249 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.cities.BlockType;
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.cities.door.Door;
+import org.terasology.cities.door.SimpleDoor;
+import org.terasology.cities.door.WingDoor;
+import org.terasology.cities.raster.AbstractPen;
+import org.terasology.cities.raster.Pen;
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.cities.window.RectWindow;
+import org.terasology.cities.window.SimpleWindow;
+import org.terasology.cities.window.Window;
+import org.terasology.engine.world.block.BlockAreac;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges the doors and windows of a building part into its walls. All openings are converted into
+ * vertical spans that are sorted by column and height once per part, see {@link Openings}.
+ * Walls that are drawn with {@link #wallPen} or {@link #drawWallColumn} write the wall and the openings
+ * of a column in a single pass, so that no block is written twice. Doors are carved out with
+ * {@link DefaultBlockType#AIR}, simple windows use {@link DefaultBlockType#WINDOW_GLASS} and rectangular
+ * windows use their own block type. Other door and window types are skipped with one warning per type.
+ * <p>
+ * An instance keeps track of the openings that have been written, so it must be used for
+ * a single part and a single target only.
+ */
+public final class OpeningCarver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpeningCarver.class);
+
+    private static final Set<Class<?>> UNSUPPORTED = ConcurrentHashMap.newKeySet();
+
+    private final Openings openings;
+    private final boolean[] written;
+
+    private OpeningCarver(Openings openings) {
+        this.openings = openings;
+        this.written = new boolean[openings.columns.length];
+    }
+
+    /**
+     * Parts that extend {@link AbstractBuildingPart} convert their openings only once.
+     * @param part the building part
+     * @return a new carver for all doors and windows of the part
+     */
+    public static OpeningCarver of(BuildingPart part) {
+        if (part instanceof AbstractBuildingPart) {
+            return new OpeningCarver(((AbstractBuildingPart) part).getOpenings());
+        }
+        return new OpeningCarver(Openings.of(part));
+    }
+
+    /**
+     * @param target the target to write to
+     * @param bottomHeight the bottom height of the wall (inclusive)
+     * @param topHeight the top height of the wall (exclusive)
+     * @param wallType the block type of the wall
+     * @return a pen that draws wall columns with openings
+     */
+    public Pen wallPen(RasterTarget target, int bottomHeight, int topHeight, BlockType wallType) {
+        return new AbstractPen(target.getAffectedArea()) {
+
+            @Override
+            public void draw(int x, int z) {
+                drawWallColumn(target, x, z, bottomHeight, topHeight, wallType);
+            }
+
+            @Override
+            public void drawSpan(int x0, int x1, int z) {
+                for (int x = x0; x <= x1; x++) {
+                    drawWallColumn(target, x, z, bottomHeight, topHeight, wallType);
+                }
+            }
+
+            @Override
+            public void drawSpanZ(int x, int z0, int z1) {
+                for (int z = z0; z <= z1; z++) {
+                    drawWallColumn(target, x, z, bottomHeight, topHeight, wallType);
+                }
+            }
+        };
+    }
+
+    /**
+     * Writes a wall column and all openings in it. The column must be inside the affected area of the target.
+     * @param target the target to write to
+     * @param x x in world coords
+     * @param z z in world coords
+     * @param bottom the bottom height of the wall (inclusive)
+     * @param top the top height of the wall (exclusive)
+     * @param wallType the block type of the wall
+     */
+    public void drawWallColumn(RasterTarget target, int x, int z, int bottom, int top, BlockType wallType) {
+        long[] columns = openings.columns;
+        int[] bottoms = openings.bottoms;
+        int[] tops = openings.tops;
+        long column = pack(x, z);
+        int y = bottom;
+        for (int i = openings.firstIndex(column); i < columns.length && columns[i] == column; i++) {
+            fill(target, x, z, y, Math.min(bottoms[i], top), wallType);
+            fill(target, x, z, bottoms[i], tops[i], openings.types[i]);
+            written[i] = true;
+            y = Math.max(y, tops[i]);
+        }
+        fill(target, x, z, y, top, wallType);
+    }
+
+    /**
+     * Writes all openings inside the target area that are not part of a wall column that has been drawn.
+     * @param target the target to write to
+     */
+    public void carveRemaining(RasterTarget target) {
+        BlockAreac area = target.getAffectedArea();
+        long[] columns = openings.columns;
+        for (int i = 0; i < columns.length; i++) {
+            int x = (int) (columns[i] >> 32);
+            int z = (int) columns[i];
+            if (!written[i] && area.contains(x, z)) {
+                fill(target, x, z, openings.bottoms[i], openings.tops[i], openings.types[i]);
+                written[i] = true;
+            }
+        }
+    }
+
+    private static void fill(RasterTarget target, int x, int z, int bottom, int top, BlockType type) {
+        int bot = Math.max(target.getMinHeight(), bottom);
+        int clippedTop = Math.min(target.getMaxHeight() + 1, top);  // top layer is exclusive
+        if (bot < clippedTop) {
+            target.fillColumn(x, z, bot, clippedTop, type);
+        }
+    }
+
+    private static void addArea(List<Span> spans, BlockAreac area, int bottom, int top, BlockType type) {
+        for (int z = area.minY(); z <= area.maxY(); z++) {
+            for (int x = area.minX(); x <= area.maxX(); x++) {
+                spans.add(new Span(x, z, bottom, top, type));
+            }
+        }
+    }
+
+    private static long pack(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * The vertical spans of all doors and windows of a building part, sorted by column and bottom height.
+     * Instances are immutable and can be shared between targets and threads.
+     */
+    static final class Openings {
+
+        private final long[] columns;
+        private final int[] bottoms;
+        private final int[] tops;
+        private final BlockType[] types;
+
+        private Openings(List<Span> spans) {
+            spans.sort(Comparator.comparingLong((Span s) -> s.column).thenComparingInt(s -> s.bottom));
+            int count = spans.size();
+            columns = new long[count];
+            bottoms = new int[count];
+            tops = new int[count];
+            types = new BlockType[count];
+            for (int i = 0; i < count; i++) {
+                Span span = spans.get(i);
+                columns[i] = span.column;
+                bottoms[i] = span.bottom;
+                tops[i] = span.top;
+                types[i] = span.type;
+            }
+        }
+
+        /**
+         * @param part the building part
+         * @return the sorted spans of all supported doors and windows of the part
+         */
+        static Openings of(BuildingPart part) {
+            List<Span> spans = new ArrayList<>();
+            for (Door door : part.getDoors()) {
+                if (door instanceof SimpleDoor) {
+                    SimpleDoor simple = (SimpleDoor) door;
+                    spans.add(new Span(simple.getPos().x(), simple.getPos().y(), simple.getBaseHeight(), simple.getTopHeight(),
+                            DefaultBlockType.AIR));
+                } else if (door instanceof WingDoor) {
+                    WingDoor wing = (WingDoor) door;
+                    addArea(spans, wing.getArea(), wing.getBaseHeight(), wing.getTopHeight(), DefaultBlockType.AIR);
+                } else {
+                    warnUnsupported(door);
+                }
+            }
+            for (Window window : part.getWindows()) {
+                if (window instanceof SimpleWindow) {
+                    SimpleWindow simple = (SimpleWindow) window;
+                    spans.add(new Span(simple.getPos().x(), simple.getPos().y(), simple.getHeight(), simple.getHeight() + 1,
+                            DefaultBlockType.WINDOW_GLASS));
+                } else if (window instanceof RectWindow) {
+                    RectWindow rect = (RectWindow) window;
+                    addArea(spans, rect.getArea(), rect.getBaseHeight(), rect.getTopHeight(), rect.getBlockType());
+                } else {
+                    warnUnsupported(window);
+                }
+            }
+            return new Openings(spans);
+        }
+
+        private int firstIndex(long column) {
+            int idx = Arrays.binarySearch(columns, column);
+            if (idx < 0) {
+                return -idx - 1;
+            }
+            // binary search returns any matching index
+            while (idx > 0 && columns[idx - 1] == column) {
+                idx--;
+            }
+            return idx;
+        }
+    }
+
+    private static void warnUnsupported(Object opening) {
+        if (UNSUPPORTED.add(opening.getClass())) {
+            logger.warn("No rasterizer found for {}", opening.getClass());
+        }
+    }
+
+    private static final class Span {
+        private final long column;
+        private final int bottom;
+        private final int top;
+        private final BlockType type;
+
+        Span(int x, int z, int bottom, int top, BlockType type) {
+            this.column = pack(x, z);
+            this.bottom = bottom;
+            this.top = top;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.cities.common.Footprints;
+import org.terasology.cities.common.GridIndex;
+import org.terasology.cities.model.roof.Roof;
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.cities.raster.roof.CompositeRoofRasterizer;
+import org.terasology.cities.raster.roof.RoofRasterizer;
+import org.terasology.commonworld.heightmap.HeightMap;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Rasterizes buildings into a batch of raster targets (usually one per chunk) on a fork-join pool.
+ * Every target is processed by a single task that draws all building parts overlapping it in the
+ * order of the buildings and their parts. Overlapping parts draw on top of each other, so processing
+ * the parts of one target in parallel would make the result depend on the timing.
+ * Targets must not overlap each other.
+ */
+public class ParallelBuildingRasterizer {
+
+    private final Logger logger;
+
+    private final ForkJoinPool pool;
+    private final Map<Class<?>, BuildingPartRasterizer<?>> rasterizers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<BuildingPartRasterizer<?>>> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * @param pool the pool that runs the tasks
+     */
+    public ParallelBuildingRasterizer(ForkJoinPool pool) {
+        this(pool, LoggerFactory.getLogger(ParallelBuildingRasterizer.class));
+    }
+
+    /**
+     * @param pool the pool that runs the tasks
+     * @param logger the logger that reports building parts without rasterizer
+     */
+    ParallelBuildingRasterizer(ForkJoinPool pool, Logger logger) {
+        this.pool = pool;
+        this.logger = logger;
+    }
+
+    /**
+     * @param pool the pool that runs the tasks
+     * @return a new instance with rasterizers for rectangular, round and hollow building parts
+     */
+    public static ParallelBuildingRasterizer createDefault(ForkJoinPool pool) {
+        RoofRasterizer<Roof> roofRasterizer = CompositeRoofRasterizer.createDefault();
+        ParallelBuildingRasterizer rasterizer = new ParallelBuildingRasterizer(pool);
+        rasterizer.register(new RectPartRasterizer(roofRasterizer));
+        rasterizer.register(new RoundPartRasterizer(roofRasterizer));
+        rasterizer.register(new HollowPartRasterizer(roofRasterizer));
+        return rasterizer;
+    }
+
+    /**
+     * Registers a rasterizer for its target class. The most specific rasterizer is used for every part.
+     * @param rasterizer the rasterizer to add
+     */
+    public void register(BuildingPartRasterizer<?> rasterizer) {
+        rasterizers.put(rasterizer.getTargetClass(), rasterizer);
+        resolved.clear();
+    }
+
+    /**
+     * Blocks until all targets have been rasterized.
+     * @param targets the targets to write to
+     * @param buildings the buildings to rasterize
+     * @param heightMap the terrain height map
+     */
+    public void raster(List<? extends RasterTarget> targets, Collection<? extends Building> buildings, HeightMap heightMap) {
+        GridIndex<BuildingPart> index = new GridIndex<>();
+        for (Building building : buildings) {
+            for (BuildingPart part : building.getParts()) {
+                index.add(part, Footprints.of(part));
+            }
+        }
+
+        pool.invoke(new TargetRange(targets, 0, targets.size(), index, heightMap));
+    }
+
+    private void raster(RasterTarget target, GridIndex<BuildingPart> index, HeightMap heightMap) {
+        for (BuildingPart part : index.query(target.getAffectedArea())) {
+            // targets below the floor level cannot be skipped, because foundations reach down to the terrain
+            if (part.getBoundingRegion().maxY() < target.getMinHeight()) {
+                continue;
+            }
+            Optional<BuildingPartRasterizer<?>> rasterizer = resolved.computeIfAbsent(part.getClass(), this::resolve);
+            rasterizer.ifPresent(r -> rasterPart(r, target, part, heightMap));
+        }
+    }
+
+    private Optional<BuildingPartRasterizer<?>> resolve(Class<?> partClass) {
+        for (Class<?> clazz = partClass; clazz != null; clazz = clazz.getSuperclass()) {
+            BuildingPartRasterizer<?> rasterizer = rasterizers.get(clazz);
+            if (rasterizer != null) {
+                return Optional.of(rasterizer);
+            }
+        }
+        logger.warn("No rasterizer found for {}", partClass);
+        return Optional.empty();
+    }
+
+    private static <T extends BuildingPart> void rasterPart(BuildingPartRasterizer<T> rasterizer, RasterTarget target,
+                                                            BuildingPart part, HeightMap heightMap) {
+        rasterizer.raster(target, rasterizer.getTargetClass().cast(part), heightMap);
+    }
+
+    /**
+     * Splits a range of targets in halves until single targets remain
+     */
+    private final class TargetRange extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<? extends RasterTarget> targets;
+        private final transient GridIndex<BuildingPart> index;
+        private final transient HeightMap heightMap;
+        private final int from;
+        private final int to;
+
+        TargetRange(List<? extends RasterTarget> targets, int from, int to, GridIndex<BuildingPart> index, HeightMap heightMap) {
+            this.targets = targets;
+            this.from = from;
+            this.to = to;
+            this.index = index;
+            this.heightMap = heightMap;
+        }
+
+        @Override
+        protected void compute() {
+            int count = to - from;
+            if (count == 1) {
+                raster(targets.get(from), index, heightMap);
+            } else if (count > 1) {
+                int mid = from + count / 2;
+                invokeAll(new TargetRange(targets, from, mid, index, heightMap),
+                          new TargetRange(targets, mid, to, index, heightMap));
+            }
+        }
+    }
+}
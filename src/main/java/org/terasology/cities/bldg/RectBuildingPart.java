@@ -29,7 +29,7 @@ public class RectBuildingPart extends AbstractBuildingPart implements Rectangula
     private final BlockArea layout = new BlockArea(BlockArea.INVALID);
 
     public RectBuildingPart(BlockAreac layout,Roof roof, int baseHeight, int wallHeight) {
-        super(roof, baseHeight, wallHeight);
+        super(layout, roof, baseHeight, wallHeight);
         this.layout.set(layout);
     }
 
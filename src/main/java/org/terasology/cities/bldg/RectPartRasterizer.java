@@ -0,0 +1,52 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg;
+
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.cities.deco.DecorationRasterizer;
+import org.terasology.cities.model.roof.Roof;
+import org.terasology.cities.raster.BuildingPens;
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.cities.raster.RasterUtil;
+import org.terasology.cities.raster.roof.RoofRasterizer;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.engine.world.block.BlockAreac;
+
+/**
+ * Converts {@link RectBuildingPart}s (including sub-classes) into blocks: floor, walls with doors and windows,
+ * decorations and roof.
+ */
+public class RectPartRasterizer implements BuildingPartRasterizer<RectBuildingPart> {
+
+    private final RoofRasterizer<Roof> roofRasterizer;
+    private final DecorationRasterizer decorationRasterizer = new DecorationRasterizer();
+
+    /**
+     * @param roofRasterizer rasterizes the roofs of the parts
+     */
+    public RectPartRasterizer(RoofRasterizer<Roof> roofRasterizer) {
+        this.roofRasterizer = roofRasterizer;
+    }
+
+    @Override
+    public Class<RectBuildingPart> getTargetClass() {
+        return RectBuildingPart.class;
+    }
+
+    @Override
+    public void raster(RasterTarget target, RectBuildingPart part, HeightMap heightMap) {
+        BlockAreac rc = part.getShape();
+        int baseHeight = part.getBaseHeight();
+
+        RasterUtil.fillRect(BuildingPens.floorPen(target, heightMap, baseHeight, DefaultBlockType.BUILDING_FLOOR), rc);
+
+        OpeningCarver carver = OpeningCarver.of(part);
+        int topHeight = baseHeight + part.getWallHeight();
+        RasterUtil.drawRect(carver.wallPen(target, baseHeight, topHeight, DefaultBlockType.BUILDING_WALL), rc);
+        carver.carveRemaining(target);
+        decorationRasterizer.raster(target, part);
+
+        roofRasterizer.raster(target, part.getRoof());
+    }
+}
@@ -17,6 +17,7 @@
 package org.terasology.cities.bldg;
 
 import org.terasology.cities.bldg.shape.CircularBase;
+import org.terasology.cities.common.Footprints;
 import org.terasology.cities.model.roof.Roof;
 import org.terasology.joml.geom.Circlef;
 
@@ -27,7 +28,7 @@ public class RoundBuildingPart extends AbstractBuildingPart implements CircularB
     private Circlef layout = new Circlef();
 
     public RoundBuildingPart(Circlef layout, Roof roof, int baseHeight, int wallHeight) {
-        super(roof, baseHeight, wallHeight);
+        super(Footprints.of(layout), roof, baseHeight, wallHeight);
         this.layout.r = layout.r;
         this.layout.x = layout.x;
         this.layout.y = layout.y;
@@ -0,0 +1,61 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg;
+
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.cities.deco.DecorationRasterizer;
+import org.terasology.cities.model.roof.Roof;
+import org.terasology.cities.raster.BuildingPens;
+import org.terasology.cities.raster.Pen;
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.cities.raster.RasterUtil;
+import org.terasology.cities.raster.roof.RoofRasterizer;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.joml.geom.Circlef;
+import org.terasology.math.TeraMath;
+
+/**
+ * Converts {@link RoundBuildingPart}s into blocks: floor, round walls with doors and windows, decorations and roof.
+ * Floor and walls are drawn with the scanline circle algorithms in {@link RasterUtil}, which skip
+ * all scanlines outside of the target area.
+ */
+public class RoundPartRasterizer implements BuildingPartRasterizer<RoundBuildingPart> {
+
+    private final RoofRasterizer<Roof> roofRasterizer;
+    private final DecorationRasterizer decorationRasterizer = new DecorationRasterizer();
+
+    /**
+     * @param roofRasterizer rasterizes the roofs of the parts
+     */
+    public RoundPartRasterizer(RoofRasterizer<Roof> roofRasterizer) {
+        this.roofRasterizer = roofRasterizer;
+    }
+
+    @Override
+    public Class<RoundBuildingPart> getTargetClass() {
+        return RoundBuildingPart.class;
+    }
+
+    @Override
+    public void raster(RasterTarget target, RoundBuildingPart part, HeightMap heightMap) {
+        Circlef shape = part.getShape();
+        int cx = TeraMath.floorToInt(shape.x);
+        int cz = TeraMath.floorToInt(shape.y);
+        int rad = TeraMath.floorToInt(shape.r);
+
+        int baseHeight = part.getBaseHeight();
+        int topHeight = baseHeight + part.getWallHeight();
+
+        Pen floorPen = BuildingPens.floorPen(target, heightMap, baseHeight, DefaultBlockType.BUILDING_FLOOR);
+        RasterUtil.fillCircle(floorPen, cx, cz, rad);
+
+        OpeningCarver carver = OpeningCarver.of(part);
+        Pen wallPen = carver.wallPen(target, baseHeight, topHeight, DefaultBlockType.BUILDING_WALL);
+        RasterUtil.drawCircle(wallPen, cx, cz, rad);
+        carver.carveRemaining(target);
+        decorationRasterizer.raster(target, part);
+
+        roofRasterizer.raster(target, part.getRoof());
+    }
+}
@@ -21,10 +21,18 @@
 import org.terasology.commonworld.heightmap.HeightMap;
 
 /**
- *
+ * Creates buildings on parcels. The result must depend only on the arguments, so that buildings
+ * can be generated in any order, concurrently and on different machines. Implementations must not
+ * keep mutable state between calls.
  */
 public interface BuildingGenerator {
 
-    Building generate(Parcel parcel, HeightMap hm);
+    /**
+     * @param parcel the parcel to build on
+     * @param hm the height map to define the floor level
+     * @param seed the seed for all random decisions, see {@link org.terasology.cities.parcels.ParcelSeeds}
+     * @return the generated building
+     */
+    Building generate(Parcel parcel, HeightMap hm, long seed);
 
 }
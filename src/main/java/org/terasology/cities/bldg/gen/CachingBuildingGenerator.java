@@ -0,0 +1,196 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg.gen;
+
+import com.google.common.base.Preconditions;
+import org.terasology.cities.bldg.Building;
+import org.terasology.cities.bldg.BuildingPart;
+import org.terasology.cities.parcels.Parcel;
+import org.terasology.commonworld.Orientation;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.engine.world.block.BlockAreac;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Remembers the buildings of a delegate generator, so that a parcel that intersects several chunks
+ * is generated only once. Buildings are identified by the shape and the orientation of the parcel and the seed.
+ * <p>
+ * The least recently used buildings are evicted if there are more than <code>maxEntries</code> buildings
+ * or if their total weight exceeds <code>maxWeight</code>. The weight of a building is the number of its parts,
+ * windows, doors and decorations, which is a rough estimate of its memory footprint.
+ * <p>
+ * The height map is not part of the key, so a cache must not be shared between different terrains.
+ * Cached buildings are returned to several callers and must not be modified. This class is thread-safe;
+ * the delegate is called outside of the lock, so it can happen that the same building is generated twice.
+ */
+public class CachingBuildingGenerator implements BuildingGenerator {
+
+    private final BuildingGenerator delegate;
+    private final int maxEntries;
+    private final long maxWeight;
+
+    private final LinkedHashMap<Key, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @param delegate the generator that creates the buildings
+     * @param maxEntries the max. number of cached buildings
+     * @param maxWeight the max. total weight of all cached buildings
+     */
+    public CachingBuildingGenerator(BuildingGenerator delegate, int maxEntries, long maxWeight) {
+        Preconditions.checkArgument(maxEntries > 0, "maxEntries must be positive");
+        Preconditions.checkArgument(maxWeight > 0, "maxWeight must be positive");
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public Building generate(Parcel parcel, HeightMap hm, long seed) {
+        Key key = new Key(parcel.getShape(), parcel.getOrientation(), seed);
+        synchronized (this) {
+            Entry entry = cache.get(key);
+            if (entry != null) {
+                hitCount++;
+                return entry.building;
+            }
+            missCount++;
+        }
+
+        Building building = delegate.generate(parcel, hm, seed);
+        int buildingWeight = weigh(building);
+
+        synchronized (this) {
+            Entry prev = cache.get(key);
+            if (prev != null) {
+                // another thread was faster - keep the existing instance, so all callers see the same one
+                return prev.building;
+            }
+            if (buildingWeight <= maxWeight) {
+                cache.put(key, new Entry(building, buildingWeight));
+                weight += buildingWeight;
+                evict();
+            }
+        }
+        return building;
+    }
+
+    /**
+     * Removes all cached buildings. The statistics are kept.
+     */
+    public synchronized void invalidateAll() {
+        cache.clear();
+        weight = 0;
+    }
+
+    /**
+     * @return the number of cached buildings
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return the total weight of all cached buildings
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return the number of requests that were answered from the cache
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of requests that were passed to the delegate
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of buildings that were removed to respect the bounds
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private void evict() {
+        Iterator<Entry> it = cache.values().iterator();
+        while (it.hasNext() && (cache.size() > maxEntries || weight > maxWeight)) {
+            Entry eldest = it.next();
+            it.remove();
+            weight -= eldest.weight;
+            evictionCount++;
+        }
+    }
+
+    private static int weigh(Building building) {
+        int count = 1;
+        for (BuildingPart part : building.getParts()) {
+            count += 1 + part.getWindows().size() + part.getDoors().size() + part.getDecorations().size();
+        }
+        return count;
+    }
+
+    private static final class Entry {
+        private final Building building;
+        private final int weight;
+
+        Entry(Building building, int weight) {
+            this.building = building;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Copies the shape, because {@link BlockAreac} instances are not necessarily immutable
+     */
+    private static final class Key {
+        private final int minX;
+        private final int minY;
+        private final int maxX;
+        private final int maxY;
+        private final Orientation orientation;
+        private final long seed;
+
+        Key(BlockAreac shape, Orientation orientation, long seed) {
+            this.minX = shape.minX();
+            this.minY = shape.minY();
+            this.maxX = shape.maxX();
+            this.maxY = shape.maxY();
+            this.orientation = orientation;
+            this.seed = seed;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return minX == other.minX && minY == other.minY && maxX == other.maxX && maxY == other.maxY
+                    && orientation == other.orientation && seed == other.seed;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(minX, minY, maxX, maxY, orientation, seed);
+        }
+    }
+}
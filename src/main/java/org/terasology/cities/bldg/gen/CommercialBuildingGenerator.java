@@ -40,16 +40,8 @@
  */
 public class CommercialBuildingGenerator implements BuildingGenerator {
 
-    private long seed;
-
-    /**
-     * @param seed
-     */
-    public CommercialBuildingGenerator(long seed) {
-        this.seed = seed;
-    }
-
-    public Building generate(Parcel parcel, HeightMap hm) {
+    @Override
+    public Building generate(Parcel parcel, HeightMap hm, long seed) {
         Orientation o = parcel.getOrientation();
         DefaultBuilding bldg = new DefaultBuilding(o);
 
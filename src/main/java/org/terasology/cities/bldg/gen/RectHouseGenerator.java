@@ -16,7 +16,6 @@
 
 package org.terasology.cities.bldg.gen;
 
-import com.google.common.collect.Sets;
 import org.joml.RoundingMode;
 import org.joml.Vector2i;
 import org.joml.Vector2ic;
@@ -43,17 +42,18 @@
 import org.terasology.engine.world.block.BlockArea;
 import org.terasology.engine.world.block.BlockAreac;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  *
  */
 public class RectHouseGenerator implements BuildingGenerator {
 
-    public Building generate(Parcel parcel, HeightMap hm) {
+    @Override
+    public Building generate(Parcel parcel, HeightMap hm, long seed) {
 
-        // use the rectangle, not the lot itself, because its hashcode is the identity hashcode
-        Random rng = new MersenneRandom(parcel.getShape().hashCode());
+        Random rng = new MersenneRandom(seed);
 
         Orientation o = parcel.getOrientation();
         DefaultBuilding bldg = new DefaultBuilding(o);
@@ -85,7 +85,7 @@ public Building generate(Parcel parcel, HeightMap hm) {
         for (int i = 0; i < 3; i++) {
             // use the other three cardinal directions to place windows
             Orientation orient = o.getRotated(90 * (i + 1));
-            Set<SimpleWindow> wnds = createWindows(layout, floorHeight, orient);
+            List<SimpleWindow> wnds = createWindows(layout, floorHeight, orient);
 
             for (SimpleWindow wnd : wnds) {
                 // test if terrain outside window is lower than window base height
@@ -117,14 +117,14 @@ private void addDecorations(RectBuildingPart part, Orientation o, int baseHeight
         }
     }
 
-    private Set<SimpleWindow> createWindows(BlockAreac rc, int baseHeight, Orientation o) {
+    private List<SimpleWindow> createWindows(BlockAreac rc, int baseHeight, Orientation o) {
 
         final int wndBase = baseHeight + 1;
         final int endDist = 2;
         final int interDist = 2;
         final int wndSize = 1;
 
-        Set<SimpleWindow> result = Sets.newHashSet();
+        List<SimpleWindow> result = new ArrayList<>();
 
         Line2f borderSeg = Edges.getEdge(rc, o);
 
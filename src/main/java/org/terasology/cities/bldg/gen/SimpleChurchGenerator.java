@@ -50,23 +50,16 @@
  */
 public class SimpleChurchGenerator implements BuildingGenerator {
 
-    private final long seed;
-
-    /**
-     * @param seed the seed
-     */
-    public SimpleChurchGenerator(long seed) {
-        this.seed = seed;
-    }
-
     /**
      * @param lot the lot to use
      * @param hm the height map to define the floor level
+     * @param seed the seed
      * @return a generated building model of a simple church
      */
-    public Building generate(Parcel lot, HeightMap hm) {
+    @Override
+    public Building generate(Parcel lot, HeightMap hm, long seed) {
 
-        Random rand = new MersenneRandom(seed ^ lot.getShape().hashCode());
+        Random rand = new MersenneRandom(seed);
 
         // make build-able area 1 block smaller, so make the roof stay inside
         BlockAreac lotRc = lot.getShape().expand(new Vector2i(-1, -1), new BlockArea(BlockArea.INVALID));
@@ -38,7 +38,8 @@
  */
 public class TownHallGenerator implements BuildingGenerator {
 
-    public Building generate(Parcel parcel, HeightMap hm) {
+    @Override
+    public Building generate(Parcel parcel, HeightMap hm, long seed) {
 
         Orientation o = parcel.getOrientation();
         DefaultBuilding bldg = new DefaultBuilding(o);
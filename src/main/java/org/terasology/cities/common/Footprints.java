@@ -0,0 +1,108 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.common;
+
+import org.joml.Vector2ic;
+import org.joml.Vector3ic;
+import org.terasology.cities.bldg.Building;
+import org.terasology.cities.bldg.BuildingPart;
+import org.terasology.cities.deco.ColumnDecoration;
+import org.terasology.cities.deco.Decoration;
+import org.terasology.cities.deco.SingleBlockDecoration;
+import org.terasology.cities.fences.SimpleFence;
+import org.terasology.cities.roads.RoadSegment;
+import org.terasology.cities.walls.WallSegment;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.joml.geom.Circlef;
+import org.terasology.math.TeraMath;
+
+/**
+ * Computes conservative XZ bounding areas of model elements, e.g. for a {@link GridIndex}.
+ */
+public final class Footprints {
+
+    private Footprints() {
+        // no instances
+    }
+
+    /**
+     * @param building the building
+     * @return the XZ projection of {@link Building#getBoundingRegion()}
+     */
+    public static BlockArea of(Building building) {
+        return of(building.getBoundingRegion());
+    }
+
+    /**
+     * @param part the building part
+     * @return the XZ projection of {@link BuildingPart#getBoundingRegion()}
+     */
+    public static BlockArea of(BuildingPart part) {
+        return of(part.getBoundingRegion());
+    }
+
+    /**
+     * @param circle the circle
+     * @return all blocks that the circle touches
+     */
+    public static BlockArea of(Circlef circle) {
+        return new BlockArea(
+                TeraMath.floorToInt(circle.x - circle.r), TeraMath.floorToInt(circle.y - circle.r),
+                TeraMath.ceilToInt(circle.x + circle.r), TeraMath.ceilToInt(circle.y + circle.r));
+    }
+
+    /**
+     * @param segment the road segment
+     * @return the bounds of the segment, expanded by half the road width
+     */
+    public static BlockArea of(RoadSegment segment) {
+        return of(segment.getStart(), segment.getEnd(), TeraMath.ceilToInt(segment.getWidth() * 0.5f));
+    }
+
+    /**
+     * @param segment the wall segment
+     * @return the bounds of the segment, expanded by half the wall thickness
+     */
+    public static BlockArea of(WallSegment segment) {
+        return of(segment.getStart(), segment.getEnd(), (segment.getWallThickness() + 1) / 2);
+    }
+
+    /**
+     * @param fence the fence
+     * @return the fence outline
+     */
+    public static BlockArea of(SimpleFence fence) {
+        return new BlockArea(fence.getRect());
+    }
+
+    /**
+     * @param decoration the decoration (single block or column)
+     * @return the column of the decoration or {@link BlockArea#INVALID} for other decoration types
+     */
+    public static BlockArea of(Decoration decoration) {
+        if (decoration instanceof SingleBlockDecoration) {
+            Vector3ic pos = ((SingleBlockDecoration) decoration).getPos();
+            return new BlockArea(pos.x(), pos.z());
+        }
+        if (decoration instanceof ColumnDecoration) {
+            Vector3ic pos = ((ColumnDecoration) decoration).getBasePos();
+            return new BlockArea(pos.x(), pos.z());
+        }
+        return new BlockArea(BlockArea.INVALID);
+    }
+
+    private static BlockArea of(BlockRegionc region) {
+        if (!region.isValid()) {
+            return new BlockArea(BlockArea.INVALID);
+        }
+        return new BlockArea(region.minX(), region.minZ(), region.maxX(), region.maxZ());
+    }
+
+    private static BlockArea of(Vector2ic start, Vector2ic end, int border) {
+        return new BlockArea(
+                Math.min(start.x(), end.x()) - border, Math.min(start.y(), end.y()) - border,
+                Math.max(start.x(), end.x()) + border, Math.max(start.y(), end.y()) + border);
+    }
+}
@@ -0,0 +1,150 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.common;
+
+import com.google.common.base.Preconditions;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A uniform grid over the XZ plane that indexes elements by their bounding areas.
+ * Every element is stored in all cells that its bounds overlap. The default cell size
+ * is the chunk size, so that a query for the area of a chunk touches only few cells.
+ * This class is not thread-safe for modification, but concurrent queries are fine.
+ * @param <T> the element type
+ */
+public class GridIndex<T> {
+
+    private final int cellSize;
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private int size;
+
+    /**
+     * Creates an index with chunk-sized cells
+     */
+    public GridIndex() {
+        this(Chunks.SIZE_X);
+    }
+
+    /**
+     * @param cellSize the edge length of the grid cells in blocks
+     */
+    public GridIndex(int cellSize) {
+        Preconditions.checkArgument(cellSize > 0, "cellSize must be positive");
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * @param element the element to add
+     * @param bounds the bounding area of the element (must be valid)
+     */
+    public void add(T element, BlockAreac bounds) {
+        Preconditions.checkArgument(bounds.isValid(), "invalid bounds for %s", element);
+
+        Entry<T> entry = new Entry<>(element, size, bounds);
+        for (int cy = cell(entry.minY); cy <= cell(entry.maxY); cy++) {
+            for (int cx = cell(entry.minX); cx <= cell(entry.maxX); cx++) {
+                cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>()).add(entry);
+            }
+        }
+        size++;
+    }
+
+    /**
+     * @param area the query area
+     * @return all elements whose bounds intersect the area in the order they were added
+     */
+    public List<T> query(BlockAreac area) {
+        List<Entry<T>> entries = new ArrayList<>();
+        visit(area, entries::add);
+        entries.sort(Comparator.comparingInt(e -> e.order));
+
+        List<T> result = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            result.add(entry.element);
+        }
+        return result;
+    }
+
+    /**
+     * Reports every element whose bounds intersect the area exactly once, in no particular order.
+     * @param area the query area
+     * @param consumer receives the elements
+     */
+    public void query(BlockAreac area, Consumer<? super T> consumer) {
+        visit(area, entry -> consumer.accept(entry.element));
+    }
+
+    /**
+     * @return the number of elements in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    private void visit(BlockAreac area, Consumer<Entry<T>> consumer) {
+        if (!area.isValid()) {
+            return;
+        }
+
+        int cx0 = cell(area.minX());
+        int cy0 = cell(area.minY());
+        int cx1 = cell(area.maxX());
+        int cy1 = cell(area.maxY());
+
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                List<Entry<T>> list = cells.get(key(cx, cy));
+                if (list == null) {
+                    continue;
+                }
+                for (Entry<T> entry : list) {
+                    if (entry.intersects(area)
+                            // report only in the first cell that is overlapped by both the element and the area
+                            && cell(Math.max(entry.minX, area.minX())) == cx
+                            && cell(Math.max(entry.minY, area.minY())) == cy) {
+                        consumer.accept(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    private int cell(int coord) {
+        return Math.floorDiv(coord, cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static final class Entry<T> {
+        private final T element;
+        private final int order;
+        private final int minX;
+        private final int minY;
+        private final int maxX;
+        private final int maxY;
+
+        Entry(T element, int order, BlockAreac bounds) {
+            this.element = element;
+            this.order = order;
+            this.minX = bounds.minX();
+            this.minY = bounds.minY();
+            this.maxX = bounds.maxX();
+            this.maxY = bounds.maxY();
+        }
+
+        boolean intersects(BlockAreac area) {
+            return minX <= area.maxX() && maxX >= area.minX() && minY <= area.maxY() && maxY >= area.minY();
+        }
+    }
+}
@@ -21,6 +21,7 @@
 import org.joml.Vector3ic;
 import org.terasology.cities.BlockType;
 import org.terasology.engine.math.Side;
+import org.terasology.engine.math.SideBitFlag;
 
 import java.util.List;
 
@@ -32,6 +33,7 @@ public class ColumnDecoration implements Decoration {
     private final Vector3i pos = new Vector3i();
     private final List<BlockType> blocks;
     private final List<Side> sides;
+    private final byte[] sideMasks;
 
     /**
      * @param blocks the decoration block types
@@ -42,6 +44,11 @@ public ColumnDecoration(List<BlockType> blocks, List<Side> sides, Vector3ic base
         Preconditions.checkArgument(blocks.size() == sides.size(), "blockCount != sideCount");
         this.blocks = blocks;
         this.sides = sides;
+        this.sideMasks = new byte[sides.size()];
+        for (int i = 0; i < sideMasks.length; i++) {
+            Side side = sides.get(i);
+            sideMasks[i] = (side != null) ? SideBitFlag.getSide(side) : 0;
+        }
         this.pos.set(basePos);
     }
 
@@ -66,6 +73,14 @@ public List<Side> getSides() {
         return sides;
     }
 
+    /**
+     * @param index the block index, starting at the base position
+     * @return the facing side of the block as side bit flags
+     */
+    public byte getSideMask(int index) {
+        return sideMasks[index];
+    }
+
     /**
      * @return the height of the column
      */
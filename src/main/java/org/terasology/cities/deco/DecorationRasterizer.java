@@ -0,0 +1,76 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.deco;
+
+import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.cities.BlockType;
+import org.terasology.cities.bldg.BuildingPart;
+import org.terasology.cities.raster.RasterTarget;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the decorations of a building part. Only the decorations in the chunk column(s) of the target area are visited.
+ * Consecutive blocks of a {@link ColumnDecoration} with the same type and no side are written as one vertical span.
+ * Other decoration types are skipped with one warning per type. This class is thread-safe and can be shared between threads.
+ */
+public class DecorationRasterizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DecorationRasterizer.class);
+
+    private final Set<Class<?>> unsupported = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param target the target to write to
+     * @param part the building part that contains the decorations
+     */
+    public void raster(RasterTarget target, BuildingPart part) {
+        for (Decoration decoration : part.getDecorations(target.getAffectedArea())) {
+            if (decoration instanceof SingleBlockDecoration) {
+                rasterSingle(target, (SingleBlockDecoration) decoration);
+            } else if (decoration instanceof ColumnDecoration) {
+                rasterColumn(target, (ColumnDecoration) decoration);
+            } else if (unsupported.add(decoration.getClass())) {
+                logger.warn("No rasterizer found for {}", decoration.getClass());
+            }
+        }
+    }
+
+    private static void rasterSingle(RasterTarget target, SingleBlockDecoration deco) {
+        Vector3ic pos = deco.getPos();
+        if (pos.y() >= target.getMinHeight() && pos.y() <= target.getMaxHeight()) {
+            target.setBlock(pos.x(), pos.y(), pos.z(), deco.getType(), deco.getSideMask());
+        }
+    }
+
+    private static void rasterColumn(RasterTarget target, ColumnDecoration deco) {
+        Vector3ic pos = deco.getBasePos();
+        List<BlockType> types = deco.getBlockTypes();
+
+        // only the part of the column inside the target's height range is visited
+        int from = Math.max(0, target.getMinHeight() - pos.y());
+        int to = Math.min(deco.getHeight(), target.getMaxHeight() + 1 - pos.y());
+        int i = from;
+        while (i < to) {
+            BlockType type = types.get(i);
+            byte sideMask = deco.getSideMask(i);
+            if (sideMask != 0) {
+                target.setBlock(pos.x(), pos.y() + i, pos.z(), type, sideMask);
+                i++;
+                continue;
+            }
+
+            int end = i + 1;
+            while (end < to && types.get(end) == type && deco.getSideMask(end) == 0) {
+                end++;
+            }
+            target.fillColumn(pos.x(), pos.z(), pos.y() + i, pos.y() + end, type);
+            i = end;
+        }
+    }
+}
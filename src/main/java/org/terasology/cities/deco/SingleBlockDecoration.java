@@ -20,6 +20,7 @@
 import org.joml.Vector3ic;
 import org.terasology.cities.BlockType;
 import org.terasology.engine.math.Side;
+import org.terasology.engine.math.SideBitFlag;
 
 /**
  * A single block decoration
@@ -29,6 +30,7 @@ public class SingleBlockDecoration implements Decoration {
     private final Vector3i pos = new Vector3i();
     private BlockType type;
     private Side side;
+    private byte sideMask;
 
     /**
      * @param type the decoration type
@@ -38,6 +40,7 @@ public class SingleBlockDecoration implements Decoration {
     public SingleBlockDecoration(BlockType type, Vector3ic pos, Side side) {
         this.type = type;
         this.side = side;
+        this.sideMask = (side != null) ? SideBitFlag.getSide(side) : 0;
         this.pos.set(pos);
     }
 
@@ -61,4 +64,11 @@ public BlockType getType() {
     public Side getSide() {
         return side;
     }
+
+    /**
+     * @return the orientation of the block as side bit flags
+     */
+    public byte getSideMask() {
+        return sideMask;
+    }
 }
@@ -0,0 +1,555 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.model;
+
+import org.joml.Vector2i;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.cities.BlockType;
+import org.terasology.cities.bldg.AbstractBuildingPart;
+import org.terasology.cities.bldg.BuildingPart;
+import org.terasology.cities.bldg.DefaultBuilding;
+import org.terasology.cities.bldg.HollowBuildingPart;
+import org.terasology.cities.bldg.RectBuildingPart;
+import org.terasology.cities.bldg.RoundBuildingPart;
+import org.terasology.cities.bldg.StaircaseBuildingPart;
+import org.terasology.cities.deco.ColumnDecoration;
+import org.terasology.cities.deco.Decoration;
+import org.terasology.cities.deco.SingleBlockDecoration;
+import org.terasology.cities.door.Door;
+import org.terasology.cities.door.SimpleDoor;
+import org.terasology.cities.door.WingDoor;
+import org.terasology.cities.model.roof.BattlementRoof;
+import org.terasology.cities.model.roof.ConicRoof;
+import org.terasology.cities.model.roof.DomeRoof;
+import org.terasology.cities.model.roof.FlatRoof;
+import org.terasology.cities.model.roof.HipRoof;
+import org.terasology.cities.model.roof.PentRoof;
+import org.terasology.cities.model.roof.RectangularRoof;
+import org.terasology.cities.model.roof.Roof;
+import org.terasology.cities.model.roof.SaddleRoof;
+import org.terasology.cities.window.RectWindow;
+import org.terasology.cities.window.SimpleWindow;
+import org.terasology.cities.window.Window;
+import org.terasology.commonworld.Orientation;
+import org.terasology.engine.math.Side;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.joml.geom.Circlef;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, compact representation of the buildings of a settlement. Every kind of element
+ * (buildings, parts, roofs, windows, doors, decorations) is stored in its own primitive array as
+ * fixed-size records of ints. Parent elements reference their children through offset arrays, so
+ * the elements of a part are contiguous and keep the order of the original object graph.
+ * <p>
+ * Block types are stored as indices into a palette. The model can be converted back into
+ * {@link DefaultBuilding} instances that are equivalent to the original ones, but specialized
+ * sub-classes are not restored: towers and round houses become {@link DefaultBuilding}s and
+ * ladders and pillars become {@link ColumnDecoration}s.
+ */
+public final class SettlementModel {
+
+    private static final int RECT_PART = 0;
+    private static final int HOLLOW_PART = 1;
+    private static final int ROUND_PART = 2;
+    private static final int STAIRCASE_PART = 3;
+
+    private static final int RECT_ROOF = 0;
+    private static final int HIP_ROOF = 1;
+    private static final int SADDLE_ROOF = 2;
+    private static final int PENT_ROOF = 3;
+    private static final int DOME_ROOF = 4;
+    private static final int FLAT_ROOF = 5;
+    private static final int BATTLEMENT_ROOF = 6;
+    private static final int CONIC_ROOF = 7;
+
+    private static final int SIMPLE = 0;
+    private static final int RECT = 1;
+
+    private static final int BOUNDS_STRIDE = 6;
+
+    /**
+     * Part records: kind, area (4), base height, wall height, param (arc radius or orientation).
+     * Round parts store the float bits of the circle's x, y and radius in the area fields.
+     */
+    private static final int PART_STRIDE = 8;
+
+    /**
+     * Roof records: kind, base area (4), eaves area (4), base height, param (max. height, orientation, border height or pitch).
+     * Conic roofs store center x, center z and radius in the base area fields.
+     * The pitch of the other roofs is stored in a separate double array.
+     */
+    private static final int ROOF_STRIDE = 11;
+
+    /**
+     * Window and door records: kind, orientation, area (4), base height, top height, block type.
+     * Simple windows and doors store their position in the first two area fields. Simple windows store their height as base height.
+     */
+    private static final int OPENING_STRIDE = 9;
+
+    /**
+     * Decoration records: x, y, z of the base position. Block types and sides are stored per block.
+     */
+    private static final int DECORATION_STRIDE = 3;
+
+    private final int[] buildingOrientations;
+    private final int[] buildingBounds;
+    private final int[] buildingParts;
+
+    private final int[] parts;
+    private final int[] partWindows;
+    private final int[] partDoors;
+    private final int[] partDecorations;
+
+    private final int[] roofs;
+    private final double[] roofPitches;
+
+    private final int[] windows;
+    private final int[] doors;
+
+    private final int[] decorations;
+    private final boolean[] singleBlockDecorations;
+    private final int[] decorationBlocks;
+
+    private final int[] blockTypes;
+    private final byte[] blockSides;
+
+    private final BlockType[] palette;
+
+    private SettlementModel(Collection<? extends DefaultBuilding> buildings) {
+        int partCount = 0;
+        int windowCount = 0;
+        int doorCount = 0;
+        int decorationCount = 0;
+        int blockCount = 0;
+
+        // first pass: count all elements to allocate arrays of the right size
+        for (DefaultBuilding building : buildings) {
+            for (BuildingPart part : building.getParts()) {
+                partCount++;
+                windowCount += part.getWindows().size();
+                doorCount += part.getDoors().size();
+                decorationCount += part.getDecorations().size();
+                for (Decoration deco : part.getDecorations()) {
+                    blockCount += (deco instanceof ColumnDecoration) ? ((ColumnDecoration) deco).getHeight() : 1;
+                }
+            }
+        }
+
+        buildingOrientations = new int[buildings.size()];
+        buildingBounds = new int[buildings.size() * BOUNDS_STRIDE];
+        buildingParts = new int[buildings.size() + 1];
+        parts = new int[partCount * PART_STRIDE];
+        partWindows = new int[partCount + 1];
+        partDoors = new int[partCount + 1];
+        partDecorations = new int[partCount + 1];
+        roofs = new int[partCount * ROOF_STRIDE];
+        roofPitches = new double[partCount];
+        windows = new int[windowCount * OPENING_STRIDE];
+        doors = new int[doorCount * OPENING_STRIDE];
+        decorations = new int[decorationCount * DECORATION_STRIDE];
+        singleBlockDecorations = new boolean[decorationCount];
+        decorationBlocks = new int[decorationCount + 1];
+        blockTypes = new int[blockCount];
+        blockSides = new byte[blockCount];
+
+        // second pass: fill the arrays
+        Map<BlockType, Integer> paletteIndex = new IdentityHashMap<>();
+        List<BlockType> paletteList = new ArrayList<>();
+
+        int b = 0;
+        int p = 0;
+        int w = 0;
+        int d = 0;
+        int deco = 0;
+        int block = 0;
+        for (DefaultBuilding building : buildings) {
+            buildingOrientations[b] = building.getOrientation().ordinal();
+            putRegion(buildingBounds, b * BOUNDS_STRIDE, building.getBoundingRegion());
+            for (BuildingPart part : building.getParts()) {
+                putPart(p, part);
+                putRoof(p, part.getRoof());
+                for (Window window : part.getWindows()) {
+                    putWindow(w++, window, paletteIndex, paletteList);
+                }
+                for (Door door : part.getDoors()) {
+                    putDoor(d++, door);
+                }
+                for (Decoration decoration : part.getDecorations()) {
+                    block = putDecoration(deco++, block, decoration, paletteIndex, paletteList);
+                }
+                p++;
+                partWindows[p] = w;
+                partDoors[p] = d;
+                partDecorations[p] = deco;
+            }
+            b++;
+            buildingParts[b] = p;
+        }
+
+        palette = paletteList.toArray(new BlockType[0]);
+    }
+
+    /**
+     * @param buildings the buildings to store
+     * @return a new model that contains all buildings in the given order
+     * @throws IllegalArgumentException if a building contains an element type that is not supported
+     */
+    public static SettlementModel of(Collection<? extends DefaultBuilding> buildings) {
+        return new SettlementModel(buildings);
+    }
+
+    /**
+     * @return the number of buildings
+     */
+    public int getBuildingCount() {
+        return buildingOrientations.length;
+    }
+
+    /**
+     * @param index the building index
+     * @param dest the region that receives the result
+     * @return dest, containing the bounding region of the building or {@link BlockRegion#INVALID} if it has no parts
+     */
+    public BlockRegion getBoundingRegion(int index, BlockRegion dest) {
+        if (buildingParts[index] == buildingParts[index + 1]) {
+            return dest.set(BlockRegion.INVALID);
+        }
+        int o = index * BOUNDS_STRIDE;
+        return dest.set(buildingBounds[o], buildingBounds[o + 1], buildingBounds[o + 2],
+                buildingBounds[o + 3], buildingBounds[o + 4], buildingBounds[o + 5]);
+    }
+
+    /**
+     * @return new instances of all buildings
+     */
+    public List<DefaultBuilding> toBuildings() {
+        List<DefaultBuilding> result = new ArrayList<>(getBuildingCount());
+        for (int i = 0; i < getBuildingCount(); i++) {
+            result.add(toBuilding(i));
+        }
+        return result;
+    }
+
+    /**
+     * @param index the building index
+     * @return a new instance of the building
+     */
+    public DefaultBuilding toBuilding(int index) {
+        DefaultBuilding building = new DefaultBuilding(Orientation.values()[buildingOrientations[index]]);
+        for (int p = buildingParts[index]; p < buildingParts[index + 1]; p++) {
+            building.addPart(getPart(p));
+        }
+        return building;
+    }
+
+    private void putPart(int index, BuildingPart part) {
+        int o = index * PART_STRIDE;
+        parts[o + 5] = part.getBaseHeight();
+        parts[o + 6] = part.getWallHeight();
+        if (part instanceof StaircaseBuildingPart) {
+            StaircaseBuildingPart stairs = (StaircaseBuildingPart) part;
+            parts[o] = STAIRCASE_PART;
+            putArea(parts, o + 1, stairs.getShape());
+            parts[o + 7] = stairs.getOrientation().ordinal();
+        } else if (part instanceof RectBuildingPart) {
+            parts[o] = RECT_PART;
+            putArea(parts, o + 1, ((RectBuildingPart) part).getShape());
+        } else if (part instanceof HollowBuildingPart) {
+            HollowBuildingPart hollow = (HollowBuildingPart) part;
+            parts[o] = HOLLOW_PART;
+            putArea(parts, o + 1, hollow.getShape());
+            parts[o + 7] = hollow.getArcRadius();
+        } else if (part instanceof RoundBuildingPart) {
+            Circlef shape = ((RoundBuildingPart) part).getShape();
+            parts[o] = ROUND_PART;
+            parts[o + 1] = Float.floatToIntBits(shape.x);
+            parts[o + 2] = Float.floatToIntBits(shape.y);
+            parts[o + 3] = Float.floatToIntBits(shape.r);
+        } else {
+            throw new IllegalArgumentException("Unsupported building part: " + part.getClass());
+        }
+    }
+
+    private BuildingPart getPart(int index) {
+        int o = index * PART_STRIDE;
+        Roof roof = getRoof(index);
+        int baseHeight = parts[o + 5];
+        int wallHeight = parts[o + 6];
+
+        BuildingPart part;
+        switch (parts[o]) {
+            case RECT_PART:
+                part = new RectBuildingPart(getArea(parts, o + 1), roof, baseHeight, wallHeight);
+                break;
+            case STAIRCASE_PART:
+                part = new StaircaseBuildingPart(getArea(parts, o + 1), Orientation.values()[parts[o + 7]], roof, baseHeight, wallHeight);
+                break;
+            case HOLLOW_PART:
+                part = new HollowBuildingPart(getArea(parts, o + 1), roof, baseHeight, wallHeight, parts[o + 7]);
+                break;
+            case ROUND_PART:
+                Circlef shape = new Circlef(Float.intBitsToFloat(parts[o + 1]), Float.intBitsToFloat(parts[o + 2]),
+                        Float.intBitsToFloat(parts[o + 3]));
+                part = new RoundBuildingPart(shape, roof, baseHeight, wallHeight);
+                break;
+            default:
+                throw new IllegalStateException("Unknown part kind: " + parts[o]);
+        }
+
+        // all supported part types extend AbstractBuildingPart
+        AbstractBuildingPart target = (AbstractBuildingPart) part;
+        for (int w = partWindows[index]; w < partWindows[index + 1]; w++) {
+            target.addWindow(getWindow(w));
+        }
+        for (int d = partDoors[index]; d < partDoors[index + 1]; d++) {
+            target.addDoor(getDoor(d));
+        }
+        for (int deco = partDecorations[index]; deco < partDecorations[index + 1]; deco++) {
+            target.addDecoration(getDecoration(deco));
+        }
+        return part;
+    }
+
+    private void putRoof(int index, Roof roof) {
+        int o = index * ROOF_STRIDE;
+        if (roof instanceof ConicRoof) {
+            ConicRoof conic = (ConicRoof) roof;
+            roofs[o] = CONIC_ROOF;
+            roofs[o + 1] = (int) conic.getArea().x;
+            roofs[o + 2] = (int) conic.getArea().y;
+            roofs[o + 3] = (int) conic.getArea().r;
+            roofs[o + 9] = conic.getBaseHeight();
+            roofs[o + 10] = conic.getPitch();
+            return;
+        }
+        if (!(roof instanceof RectangularRoof)) {
+            throw new IllegalArgumentException("Unsupported roof: " + roof.getClass());
+        }
+
+        RectangularRoof rect = (RectangularRoof) roof;
+        putArea(roofs, o + 1, rect.getBaseArea());
+        putArea(roofs, o + 5, rect.getArea());
+        roofs[o + 9] = rect.getBaseHeight();
+        if (roof instanceof HipRoof) {
+            roofs[o] = HIP_ROOF;
+            roofs[o + 10] = ((HipRoof) roof).getMaxHeight();
+            roofPitches[index] = ((HipRoof) roof).getPitch();
+        } else if (roof instanceof SaddleRoof) {
+            roofs[o] = SADDLE_ROOF;
+            roofs[o + 10] = ((SaddleRoof) roof).getOrientation().ordinal();
+            roofPitches[index] = ((SaddleRoof) roof).getPitch();
+        } else if (roof instanceof PentRoof) {
+            roofs[o] = PENT_ROOF;
+            roofs[o + 10] = ((PentRoof) roof).getOrientation().ordinal();
+            roofPitches[index] = ((PentRoof) roof).getPitch();
+        } else if (roof instanceof DomeRoof) {
+            roofs[o] = DOME_ROOF;
+            roofs[o + 10] = ((DomeRoof) roof).getHeight();
+        } else if (roof instanceof FlatRoof) {
+            // battlements have the full border height at even local coordinates
+            roofs[o] = (roof instanceof BattlementRoof) ? BATTLEMENT_ROOF : FLAT_ROOF;
+            roofs[o + 10] = ((FlatRoof) roof).getBorderHeight(0, 0);
+        } else if (roof.getClass() == RectangularRoof.class) {
+            roofs[o] = RECT_ROOF;
+        } else {
+            throw new IllegalArgumentException("Unsupported roof: " + roof.getClass());
+        }
+    }
+
+    private Roof getRoof(int index) {
+        int o = index * ROOF_STRIDE;
+        int baseHeight = roofs[o + 9];
+        int param = roofs[o + 10];
+        if (roofs[o] == CONIC_ROOF) {
+            return new ConicRoof(new Vector2i(roofs[o + 1], roofs[o + 2]), roofs[o + 3], baseHeight, param);
+        }
+
+        BlockAreac baseArea = getArea(roofs, o + 1);
+        BlockAreac withEaves = getArea(roofs, o + 5);
+        switch (roofs[o]) {
+            case RECT_ROOF:
+                return new RectangularRoof(baseArea, withEaves, baseHeight);
+            case HIP_ROOF:
+                return new HipRoof(baseArea, withEaves, baseHeight, roofPitches[index], param);
+            case SADDLE_ROOF:
+                return new SaddleRoof(baseArea, withEaves, baseHeight, Orientation.values()[param], roofPitches[index]);
+            case PENT_ROOF:
+                return new PentRoof(baseArea, withEaves, baseHeight, Orientation.values()[param], roofPitches[index]);
+            case DOME_ROOF:
+                return new DomeRoof(baseArea, withEaves, baseHeight, param);
+            case FLAT_ROOF:
+                return new FlatRoof(baseArea, withEaves, baseHeight, param);
+            case BATTLEMENT_ROOF:
+                return new BattlementRoof(baseArea, withEaves, baseHeight, param);
+            default:
+                throw new IllegalStateException("Unknown roof kind: " + roofs[o]);
+        }
+    }
+
+    private void putWindow(int index, Window window, Map<BlockType, Integer> paletteIndex, List<BlockType> paletteList) {
+        int o = index * OPENING_STRIDE;
+        if (window instanceof SimpleWindow) {
+            SimpleWindow simple = (SimpleWindow) window;
+            windows[o] = SIMPLE;
+            windows[o + 1] = simple.getOrientation().ordinal();
+            windows[o + 2] = simple.getPos().x();
+            windows[o + 3] = simple.getPos().y();
+            windows[o + 6] = simple.getHeight();
+        } else if (window instanceof RectWindow) {
+            RectWindow rect = (RectWindow) window;
+            windows[o] = RECT;
+            windows[o + 1] = rect.getOrientation().ordinal();
+            putArea(windows, o + 2, rect.getArea());
+            windows[o + 6] = rect.getBaseHeight();
+            windows[o + 7] = rect.getTopHeight();
+            windows[o + 8] = indexOf(rect.getBlockType(), paletteIndex, paletteList);
+        } else {
+            throw new IllegalArgumentException("Unsupported window: " + window.getClass());
+        }
+    }
+
+    private Window getWindow(int index) {
+        int o = index * OPENING_STRIDE;
+        Orientation orientation = Orientation.values()[windows[o + 1]];
+        if (windows[o] == SIMPLE) {
+            return new SimpleWindow(orientation, new Vector2i(windows[o + 2], windows[o + 3]), windows[o + 6]);
+        }
+        return new RectWindow(orientation, getArea(windows, o + 2), windows[o + 6], windows[o + 7], palette[windows[o + 8]]);
+    }
+
+    private void putDoor(int index, Door door) {
+        int o = index * OPENING_STRIDE;
+        if (door instanceof SimpleDoor) {
+            SimpleDoor simple = (SimpleDoor) door;
+            doors[o] = SIMPLE;
+            doors[o + 1] = simple.getOrientation().ordinal();
+            doors[o + 2] = simple.getPos().x();
+            doors[o + 3] = simple.getPos().y();
+            doors[o + 6] = simple.getBaseHeight();
+            doors[o + 7] = simple.getTopHeight();
+        } else if (door instanceof WingDoor) {
+            WingDoor wing = (WingDoor) door;
+            doors[o] = RECT;
+            doors[o + 1] = wing.getOrientation().ordinal();
+            putArea(doors, o + 2, wing.getArea());
+            doors[o + 6] = wing.getBaseHeight();
+            doors[o + 7] = wing.getTopHeight();
+        } else {
+            throw new IllegalArgumentException("Unsupported door: " + door.getClass());
+        }
+    }
+
+    private Door getDoor(int index) {
+        int o = index * OPENING_STRIDE;
+        Orientation orientation = Orientation.values()[doors[o + 1]];
+        if (doors[o] == SIMPLE) {
+            return new SimpleDoor(orientation, new Vector2i(doors[o + 2], doors[o + 3]), doors[o + 6], doors[o + 7]);
+        }
+        return new WingDoor(orientation, getArea(doors, o + 2), doors[o + 6], doors[o + 7]);
+    }
+
+    private int putDecoration(int index, int block, Decoration decoration, Map<BlockType, Integer> paletteIndex,
+                              List<BlockType> paletteList) {
+        Vector3ic pos;
+        int next = block;
+        if (decoration instanceof SingleBlockDecoration) {
+            SingleBlockDecoration single = (SingleBlockDecoration) decoration;
+            pos = single.getPos();
+            blockTypes[next] = indexOf(single.getType(), paletteIndex, paletteList);
+            blockSides[next] = sideCode(single.getSide());
+            next++;
+            singleBlockDecorations[index] = true;
+        } else if (decoration instanceof ColumnDecoration) {
+            ColumnDecoration column = (ColumnDecoration) decoration;
+            pos = column.getBasePos();
+            for (int i = 0; i < column.getHeight(); i++) {
+                blockTypes[next] = indexOf(column.getBlockTypes().get(i), paletteIndex, paletteList);
+                blockSides[next] = sideCode(column.getSides().get(i));
+                next++;
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported decoration: " + decoration.getClass());
+        }
+
+        int o = index * DECORATION_STRIDE;
+        decorations[o] = pos.x();
+        decorations[o + 1] = pos.y();
+        decorations[o + 2] = pos.z();
+        decorationBlocks[index + 1] = next;
+        return next;
+    }
+
+    private Decoration getDecoration(int index) {
+        int o = index * DECORATION_STRIDE;
+        Vector3i pos = new Vector3i(decorations[o], decorations[o + 1], decorations[o + 2]);
+        int from = decorationBlocks[index];
+        int to = decorationBlocks[index + 1];
+        if (singleBlockDecorations[index]) {
+            return new SingleBlockDecoration(palette[blockTypes[from]], pos, side(blockSides[from]));
+        }
+
+        List<BlockType> types = new ArrayList<>(to - from);
+        List<Side> sides = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            types.add(palette[blockTypes[i]]);
+            sides.add(side(blockSides[i]));
+        }
+        return new ColumnDecoration(types, sides, pos);
+    }
+
+    private static int indexOf(BlockType type, Map<BlockType, Integer> paletteIndex, List<BlockType> paletteList) {
+        return paletteIndex.computeIfAbsent(type, t -> {
+            paletteList.add(t);
+            return paletteList.size() - 1;
+        });
+    }
+
+    /**
+     * @return the side's ordinal + 1 or zero for <code>null</code>
+     */
+    private static byte sideCode(Side side) {
+        return (byte) ((side != null) ? side.ordinal() + 1 : 0);
+    }
+
+    private static Side side(byte code) {
+        return (code != 0) ? Side.values()[code - 1] : null;
+    }
+
+    private static void putArea(int[] data, int offset, BlockAreac area) {
+        data[offset] = area.minX();
+        data[offset + 1] = area.minY();
+        data[offset + 2] = area.maxX();
+        data[offset + 3] = area.maxY();
+    }
+
+    private static BlockArea getArea(int[] data, int offset) {
+        return new BlockArea(data[offset], data[offset + 1], data[offset + 2], data[offset + 3]);
+    }
+
+    private static void putRegion(int[] data, int offset, BlockRegionc region) {
+        data[offset] = region.minX();
+        data[offset + 1] = region.minY();
+        data[offset + 2] = region.minZ();
+        data[offset + 3] = region.maxX();
+        data[offset + 4] = region.maxY();
+        data[offset + 5] = region.maxZ();
+    }
+
+    @Override
+    public String toString() {
+        return "SettlementModel [buildings=" + getBuildingCount() + ", parts=" + roofPitches.length
+                + ", windows=" + windows.length / OPENING_STRIDE + ", doors=" + doors.length / OPENING_STRIDE
+                + ", decorations=" + singleBlockDecorations.length + ", blockTypes=" + palette.length + "]";
+    }
+}
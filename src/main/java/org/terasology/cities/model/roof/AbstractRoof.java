@@ -16,18 +16,35 @@
 
 package org.terasology.cities.model.roof;
 
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.math.TeraMath;
+
 /**
  * An abstract base class for different roof types
  */
 public abstract class AbstractRoof implements Roof {
 
-    private int baseHeight;
+    private final int baseHeight;
+    private final BlockRegion boundingRegion;
 
     /**
+     * @param area the area that is covered by the roof
      * @param baseHeight the base height of the roof
+     * @param topHeight the height of the topmost roof block
      */
-    public AbstractRoof(int baseHeight) {
+    public AbstractRoof(BlockAreac area, int baseHeight, int topHeight) {
         this.baseHeight = baseHeight;
+        this.boundingRegion = new BlockRegion(area.minX(), baseHeight, area.minY(), area.maxX(), topHeight, area.maxY());
+    }
+
+    /**
+     * @param pitch the pitch of a sloped roof
+     * @return the number of blocks that are stacked in every column, so that the roof surface has no gaps
+     */
+    public static int getThickness(double pitch) {
+        return Math.max(1, TeraMath.ceilToInt(pitch));
     }
 
     /**
@@ -37,4 +54,9 @@ public int getBaseHeight() {
         return baseHeight;
     }
 
+    @Override
+    public BlockRegionc getBoundingRegion() {
+        return boundingRegion;
+    }
+
 }
@@ -17,6 +17,7 @@
 package org.terasology.cities.model.roof;
 
 import org.joml.Vector2ic;
+import org.terasology.engine.world.block.BlockArea;
 import org.terasology.joml.geom.Circlef;
 
 /**
@@ -35,7 +36,8 @@ public class ConicRoof extends AbstractRoof {
      * @param pitch
      */
     public ConicRoof(Vector2ic center, int radius, int baseHeight, int pitch) {
-        super(baseHeight);
+        super(new BlockArea(center.x() - radius, center.y() - radius, center.x() + radius, center.y() + radius),
+                baseHeight, baseHeight + radius * pitch + Math.max(1, pitch) - 1);
         this.area = new Circlef(center.x(), center.y(), radius);
         this.pitch = pitch;
     }
@@ -32,7 +32,7 @@ public class DomeRoof extends RectangularRoof {
      * @param maxHeight the maximum height of the roof
      */
     public DomeRoof(BlockAreac baseRect, BlockAreac withEaves, int baseHeight, int maxHeight) {
-        super(baseRect, withEaves, baseHeight);
+        super(baseRect, withEaves, baseHeight, baseHeight + maxHeight);
 
         this.height = maxHeight;
     }
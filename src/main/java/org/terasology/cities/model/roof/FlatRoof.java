@@ -32,7 +32,7 @@ public class FlatRoof extends RectangularRoof {
      * @param borderHeight the height of the border
      */
     public FlatRoof(BlockAreac baseRect, BlockAreac withEaves, int baseHeight, int borderHeight) {
-        super(baseRect, withEaves, baseHeight);
+        super(baseRect, withEaves, baseHeight, baseHeight + borderHeight);
         this.borderHeight = borderHeight;
     }
 
@@ -33,7 +33,7 @@ public class HipRoof extends RectangularRoof {
      * @param pitch the roof pitch
      */
     public HipRoof(BlockAreac baseRect, BlockAreac withEaves, int baseHeight, double pitch, int maxHeight) {
-        super(baseRect, withEaves, baseHeight);
+        super(baseRect, withEaves, baseHeight, topHeight(withEaves, baseHeight, pitch, maxHeight));
 
         this.maxHeight = maxHeight;
         this.pitch = pitch;
@@ -49,6 +49,13 @@ public HipRoof(BlockAreac baseRect, BlockAreac withEaves, int baseHeight, double
         this(baseRect, withEaves, baseHeight, pitch, Integer.MAX_VALUE);
     }
 
+    private static int topHeight(BlockAreac withEaves, int baseHeight, double pitch, int maxHeight) {
+        // the roof rises towards the center, the distance to the closest border is the largest there
+        int maxDist = (Math.min(withEaves.getSizeX(), withEaves.getSizeY()) - 1) / 2;
+        int ridge = Math.min(baseHeight + (int) (maxDist * pitch), maxHeight);
+        return ridge + getThickness(pitch) - 1;
+    }
+
     /**
      * @return the maximum height of the roof
      */
@@ -36,13 +36,25 @@ public class PentRoof extends RectangularRoof {
      * @param orientation where the top edge is
      */
     public PentRoof(BlockAreac baseRect, BlockAreac withEaves, int baseHeight, Orientation orientation, double pitch) {
-        super(baseRect, withEaves, baseHeight);
+        super(baseRect, withEaves, baseHeight, topHeight(withEaves, baseHeight, orientation, pitch));
         Preconditions.checkArgument(pitch > 0 && pitch < 10, "pitch must be in [0..10]");
 
         this.orientation = orientation;
         this.pitch = pitch;
     }
 
+    private static int topHeight(BlockAreac withEaves, int baseHeight, Orientation orientation, double pitch) {
+        // the roof rises from the opposite edge towards the top edge
+        int maxDist = 0;
+        if (orientation.direction().x() != 0) {
+            maxDist += withEaves.getSizeX() - 1;
+        }
+        if (orientation.direction().y() != 0) {
+            maxDist += withEaves.getSizeY() - 1;
+        }
+        return baseHeight + (int) (maxDist * pitch) + getThickness(pitch) - 1;
+    }
+
     /**
      * @return the pitch
      */
@@ -33,7 +33,17 @@ public class RectangularRoof extends AbstractRoof {
      * @param baseHeight the base height of the roof
      */
     public RectangularRoof(BlockAreac baseRect, BlockAreac withEaves, int baseHeight) {
-        super(baseHeight);
+        this(baseRect, withEaves, baseHeight, baseHeight);
+    }
+
+    /**
+     * @param baseRect the building rectangle (must be fully inside <code>withEaves</code>).
+     * @param withEaves the roof area including eaves (=overhang)
+     * @param baseHeight the base height of the roof
+     * @param topHeight the height of the topmost roof block
+     */
+    protected RectangularRoof(BlockAreac baseRect, BlockAreac withEaves, int baseHeight, int topHeight) {
+        super(withEaves, baseHeight, topHeight);
         this.shape.set(withEaves);
         this.baseRect.set(baseRect);
     }
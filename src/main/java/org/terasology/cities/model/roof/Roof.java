@@ -16,10 +16,15 @@
 
 package org.terasology.cities.model.roof;
 
+import org.terasology.engine.world.block.BlockRegionc;
+
 /**
  * A basic interface for different roof types
  */
 public interface Roof {
 
-
+    /**
+     * @return the region that is occupied by the roof, including eaves
+     */
+    BlockRegionc getBoundingRegion();
 }
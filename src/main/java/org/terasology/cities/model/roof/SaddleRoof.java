@@ -42,7 +42,7 @@ public class SaddleRoof extends RectangularRoof {
      * @param orientation the orientation (only NORTH, WEST, SOUTH, EAST are allowed)
      */
     public SaddleRoof(BlockAreac baseRect, BlockAreac withEaves, int baseHeight, Orientation orientation, double pitch) {
-        super(baseRect, withEaves, baseHeight);
+        super(baseRect, withEaves, baseHeight, topHeight(withEaves, baseHeight, orientation, pitch));
 
         Preconditions.checkArgument(pitch > 0 && pitch < 10, "pitch must be in [0..10]");
 
@@ -57,6 +57,14 @@ public SaddleRoof(BlockAreac baseRect, BlockAreac withEaves, int baseHeight, Ori
         this.pitch = pitch;
     }
 
+    private static int topHeight(BlockAreac withEaves, int baseHeight, Orientation orientation, double pitch) {
+        // the ridge runs along the x axis for EAST and WEST
+        boolean alongX = (orientation == EAST || orientation == WEST);
+        int crossSize = alongX ? withEaves.getSizeY() : withEaves.getSizeX();
+        int maxDist = (crossSize - 1) / 2;
+        return baseHeight + (int) (maxDist * pitch) + getThickness(pitch) - 1;
+    }
+
     /**
      * @return the pitch
      */
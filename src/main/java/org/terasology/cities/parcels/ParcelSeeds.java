@@ -0,0 +1,47 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.parcels;
+
+import com.google.common.base.Preconditions;
+import org.terasology.engine.world.block.BlockAreac;
+
+/**
+ * Derives the seeds of parcels from the world seed with SplitMix64. The seed of a parcel depends only on
+ * the world seed, the min. corner of the parcel and its zone, so it is the same on every thread and machine,
+ * no matter in which order the parcels are processed. Neighboring parcels get uncorrelated seeds.
+ */
+public final class ParcelSeeds {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private ParcelSeeds() {
+        // no instances
+    }
+
+    /**
+     * @param worldSeed the seed of the world
+     * @param parcel the parcel
+     * @param zone the zone of the parcel
+     * @return the seed for the building on the parcel
+     */
+    public static long derive(long worldSeed, Parcel parcel, Zone zone) {
+        Preconditions.checkArgument(zone != null, "zone must not be null");
+        BlockAreac shape = parcel.getShape();
+        long h = mix(worldSeed + GOLDEN_GAMMA);
+        h = mix(h + GOLDEN_GAMMA + shape.minX());
+        h = mix(h + GOLDEN_GAMMA + shape.minY());
+        return mix(h + GOLDEN_GAMMA + zone.ordinal());
+    }
+
+    /**
+     * The finalizer of SplitMix64 (a variant of MurmurHash3's fmix64)
+     * @param z the value to scramble
+     * @return the scrambled value
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
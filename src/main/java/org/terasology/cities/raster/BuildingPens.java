@@ -37,40 +37,57 @@ private BuildingPens() {
      * @return a new instance
      */
     public static Pen floorPen(RasterTarget target, HeightMap terrainHeightMap, int baseHeight, BlockType floor) {
+        int floorLevel = baseHeight - 1;
+        int minY = target.getMinHeight();
+        int maxY = target.getMaxHeight();
+        int foundationTop = Math.min(floorLevel, maxY + 1);
+        boolean floorInside = floorLevel >= minY && floorLevel <= maxY;
 
         return new AbstractPen(target.getAffectedArea()) {
 
             @Override
             public void draw(int x, int z) {
+                prepareColumn(x, z);
+            }
+
+            @Override
+            public void drawSpan(int x0, int x1, int z) {
+                for (int x = x0; x <= x1; x++) {
+                    prepareColumn(x, z);
+                }
+            }
+
+            @Override
+            public void drawSpanZ(int x, int z0, int z1) {
+                for (int z = z0; z <= z1; z++) {
+                    prepareColumn(x, z);
+                }
+            }
+
+            private void prepareColumn(int x, int z) {
                 int terrain = terrainHeightMap.apply(x, z);
-                int floorLevel = baseHeight - 1;
-                int y = Math.max(target.getMinHeight(), terrain);
-                if (y > target.getMaxHeight()) {
+                int y = Math.max(minY, terrain);
+                if (y > maxY) {
                     return;
                 }
 
                 // put foundation material below between terrain and floor level
-                while (y < floorLevel) {
-                    target.setBlock(x, y, z, DefaultBlockType.BUILDING_FOUNDATION);
-                    y++;
-                    if (y > target.getMaxHeight()) {
-                        return;
-                    }
+                if (y < foundationTop) {
+                    target.fillColumn(x, z, y, foundationTop, DefaultBlockType.BUILDING_FOUNDATION);
                 }
 
                 // y can be larger than baseHeight here
-                if (floorLevel < target.getMinHeight()) { // if the minY is fully above, we need to exit now
+                if (!floorInside) {
                     return;
                 }
 
                 // lay floor level
                 target.setBlock(x, floorLevel, z, floor);
-                y = floorLevel + 1;
 
                 // clear area above floor level
-                while (y <= target.getMaxHeight() && y <= terrain) {
-                    target.setBlock(x, y, z, DefaultBlockType.AIR);
-                    y++;
+                int airTop = Math.min(maxY, terrain) + 1;
+                if (floorLevel + 1 < airTop) {
+                    target.fillColumn(x, z, floorLevel + 1, airTop, DefaultBlockType.AIR);
                 }
             }
         };
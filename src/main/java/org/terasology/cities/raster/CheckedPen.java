@@ -39,6 +39,30 @@ public void draw(int x, int z) {
         }
     }
 
+    @Override
+    public void drawSpan(int x0, int x1, int z) {
+        BlockAreac area = pen.getTargetArea();
+        if (z >= area.minY() && z <= area.maxY()) {
+            int minX = Math.max(x0, area.minX());
+            int maxX = Math.min(x1, area.maxX());
+            if (minX <= maxX) {
+                pen.drawSpan(minX, maxX, z);
+            }
+        }
+    }
+
+    @Override
+    public void drawSpanZ(int x, int z0, int z1) {
+        BlockAreac area = pen.getTargetArea();
+        if (x >= area.minX() && x <= area.maxX()) {
+            int minZ = Math.max(z0, area.minY());
+            int maxZ = Math.min(z1, area.maxY());
+            if (minZ <= maxZ) {
+                pen.drawSpanZ(x, minZ, maxZ);
+            }
+        }
+    }
+
     @Override
     public BlockAreac getTargetArea() {
         return pen.getTargetArea();
@@ -0,0 +1,150 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.cities.BlockType;
+import org.terasology.engine.math.Side;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegionc;
+
+import java.util.Set;
+
+/**
+ * A {@link RasterTarget} that checks all write operations before calling the delegate.
+ * Writes outside of the affected region are dropped and counted. Only the first one is logged.
+ */
+public class CheckedRasterTarget implements RasterTarget {
+
+    private final Logger logger;
+
+    private final RasterTarget target;
+
+    private final int minX;
+    private final int maxX;
+    private final int minY;
+    private final int maxY;
+    private final int minZ;
+    private final int maxZ;
+
+    private long outOfRangeCount;
+
+    /**
+     * @param target the underlying instance to constrain
+     */
+    public CheckedRasterTarget(RasterTarget target) {
+        this(target, LoggerFactory.getLogger(CheckedRasterTarget.class));
+    }
+
+    /**
+     * @param target the underlying instance to constrain
+     * @param logger the logger that reports the first violation
+     */
+    CheckedRasterTarget(RasterTarget target, Logger logger) {
+        this.target = target;
+        this.logger = logger;
+
+        BlockAreac area = target.getAffectedArea();
+        this.minX = area.minX();
+        this.maxX = area.maxX();
+        this.minZ = area.minY();
+        this.maxZ = area.maxY();
+        this.minY = target.getMinHeight();
+        this.maxY = target.getMaxHeight();
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, BlockType type) {
+        if (isInside(x, y, z)) {
+            target.setBlock(x, y, z, type);
+        }
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, BlockType type, Set<Side> side) {
+        if (isInside(x, y, z)) {
+            target.setBlock(x, y, z, type, side);
+        }
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, BlockType type, byte sideMask) {
+        if (isInside(x, y, z)) {
+            target.setBlock(x, y, z, type, sideMask);
+        }
+    }
+
+    @Override
+    public void fillColumn(int x, int z, int bottom, int top, BlockType type) {
+        if (bottom >= top) {
+            return;
+        }
+
+        if (!isInside(x, z)) {
+            reject(x, bottom, z, top - bottom);
+            return;
+        }
+
+        int clippedBottom = Math.max(bottom, minY);
+        int clippedTop = Math.min(top, maxY + 1);
+
+        if (clippedBottom < clippedTop) {
+            target.fillColumn(x, z, clippedBottom, clippedTop, type);
+            if (clippedTop - clippedBottom < top - bottom) {
+                reject(x, bottom < minY ? bottom : clippedTop, z, (top - bottom) - (clippedTop - clippedBottom));
+            }
+        } else {
+            reject(x, bottom, z, top - bottom);
+        }
+    }
+
+    @Override
+    public int getMinHeight() {
+        return minY;
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return maxY;
+    }
+
+    @Override
+    public BlockAreac getAffectedArea() {
+        return target.getAffectedArea();
+    }
+
+    @Override
+    public BlockRegionc getAffectedRegion() {
+        return target.getAffectedRegion();
+    }
+
+    /**
+     * @return the number of blocks that were dropped, because they were outside of the affected region
+     */
+    public long getOutOfRangeCount() {
+        return outOfRangeCount;
+    }
+
+    private boolean isInside(int x, int z) {
+        return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+    }
+
+    private boolean isInside(int x, int y, int z) {
+        if (isInside(x, z) && y >= minY && y <= maxY) {
+            return true;
+        }
+
+        reject(x, y, z, 1);
+        return false;
+    }
+
+    private void reject(int x, int y, int z, int count) {
+        if (outOfRangeCount == 0) {
+            logger.warn("Block ({}, {}, {}) not in range [{}..{}, {}..{}, {}..{}] - further violations are only counted",
+                    x, y, z, minX, maxX, minY, maxY, minZ, maxZ);
+        }
+        outOfRangeCount += count;
+    }
+}
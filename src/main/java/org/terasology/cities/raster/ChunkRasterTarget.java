@@ -3,9 +3,6 @@
 
 package org.terasology.cities.raster;
 
-import com.google.common.base.Preconditions;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.terasology.cities.BlockTheme;
 import org.terasology.cities.BlockType;
 import org.terasology.engine.math.Side;
@@ -18,16 +15,29 @@
 import java.util.Set;
 
 /**
- * Converts model elements into blocks of of a chunk
+ * Converts model elements into blocks of of a chunk. Write operations are not range-checked,
+ * see {@link CheckedRasterTarget} for a variant that does.
  */
 public class ChunkRasterTarget implements RasterTarget {
 
-    private static final Logger logger = LoggerFactory.getLogger(ChunkRasterTarget.class);
-
     private final Chunk chunk;
     private final BlockTheme blockTheme;
     private final BlockAreac affectedArea;
 
+    /**
+     * The world coordinates of the chunk origin
+     */
+    private final int wx;
+    private final int wy;
+    private final int wz;
+
+    /**
+     * The chunk size in blocks
+     */
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+
     /**
      * @param chunk the chunk to work on
      * @param blockTheme a mapping String type to block
@@ -36,9 +46,15 @@ public ChunkRasterTarget(Chunk chunk, BlockTheme blockTheme) {
         this.blockTheme = blockTheme;
         this.chunk = chunk;
 
-        int wx = chunk.getChunkWorldOffsetX();
-        int wz = chunk.getChunkWorldOffsetZ();
-        this.affectedArea = new BlockArea(wx, wz).setSize(chunk.getChunkSizeX(), chunk.getChunkSizeZ());
+        this.wx = chunk.chunkToWorldPositionX(0);
+        this.wy = chunk.chunkToWorldPositionY(0);
+        this.wz = chunk.chunkToWorldPositionZ(0);
+
+        this.sizeX = chunk.getChunkSizeX();
+        this.sizeY = chunk.getChunkSizeY();
+        this.sizeZ = chunk.getChunkSizeZ();
+
+        this.affectedArea = new BlockArea(chunk.getChunkWorldOffsetX(), chunk.getChunkWorldOffsetZ()).setSize(sizeX, sizeZ);
     }
 
     @Override
@@ -53,12 +69,12 @@ public BlockRegionc getAffectedRegion() {
 
     @Override
     public int getMaxHeight() {
-        return chunk.chunkToWorldPositionY(0) + chunk.getChunkSizeY() - 1;
+        return wy + sizeY - 1;
     }
 
     @Override
     public int getMinHeight() {
-        return chunk.chunkToWorldPositionY(0);
+        return wy;
     }
 
     /**
@@ -87,50 +103,84 @@ public void setBlock(int x, int y, int z, BlockType type, Set<Side> side) {
      * @param x x in world coords
      * @param y y in world coords
      * @param z z in world coords
-     * @param block the actual block
+     * @param type the block type
+     * @param sideMask the sides as bit flags
      */
-    protected void setBlock(int x, int y, int z, Block block) {
-
-        int wx = chunk.chunkToWorldPositionX(0);
-        int wy = chunk.chunkToWorldPositionY(0);
-        int wz = chunk.chunkToWorldPositionZ(0);
+    @Override
+    public void setBlock(int x, int y, int z, BlockType type, byte sideMask) {
+        setBlock(x, y, z, blockTheme.apply(type, sideMask));
+    }
 
+    /**
+     * Resolves the block type only once and writes the part of the column
+     * that is inside the chunk. The column itself must be inside the affected area.
+     * @param x x in world coords
+     * @param z z in world coords
+     * @param bottom the bottom height in world coords (inclusive)
+     * @param top the top height in world coords (exclusive)
+     * @param type the block type
+     */
+    @Override
+    public void fillColumn(int x, int z, int bottom, int top, BlockType type) {
         int lx = x - wx;
-        int ly = y - wy;
         int lz = z - wz;
 
-        // TODO: remove
-        final boolean debugging = true;
-        final boolean warnOnly = true;
-        if (debugging) {
-            boolean xOk = lx >= 0 && lx < chunk.getChunkSizeX();
-            boolean yOk = ly >= 0 && ly < chunk.getChunkSizeY();
-            boolean zOk = lz >= 0 && lz < chunk.getChunkSizeZ();
-
-            if (warnOnly) {
-                if (!xOk) {
-                    logger.warn("X value of {} not in range [{}..{}]", x, wx, wx + chunk.getChunkSizeX() - 1);
-                    return;
-                }
-
-                if (!yOk) {
-                    logger.warn("Y value of {} not in range [{}..{}]", y, wy, wy + chunk.getChunkSizeY() - 1);
-                    return;
-                }
-
-                if (!zOk) {
-                    logger.warn("Z value of {} not in range [{}..{}]", z, wz, wz + chunk.getChunkSizeZ() - 1);
-                    return;
-                }
-            } else {
-                Preconditions.checkArgument(xOk, "X value of %s not in range [%s..%s]", x, wx, wx + chunk.getChunkSizeX() - 1);
-                Preconditions.checkArgument(yOk, "Y value of %s not in range [%s..%s]", y, wy, wy + chunk.getChunkSizeY() - 1);
-                Preconditions.checkArgument(zOk, "Z value of %s not in range [%s..%s]", z, wz, wz + chunk.getChunkSizeZ() - 1);
-
-                // an exception will be thrown, so no code below this line will be executed
-            }
+        int minY = Math.max(bottom - wy, 0);
+        int maxY = Math.min(top - wy, sizeY);
+
+        if (minY >= maxY) {
+            return;
         }
 
+        Block block = blockTheme.apply(type);
+        for (int ly = minY; ly < maxY; ly++) {
+            setBlockLocal(lx, ly, lz, block);
+        }
+    }
+
+    /**
+     * Writes the block without any range checks. Callers must clip against
+     * the affected area and height range or use a {@link CheckedRasterTarget}.
+     * @param x x in world coords
+     * @param y y in world coords
+     * @param z z in world coords
+     * @param block the actual block
+     */
+    protected void setBlock(int x, int y, int z, Block block) {
+        setBlockLocal(x - wx, y - wy, z - wz, block);
+    }
+
+    /**
+     * Writes a block in chunk-local coordinates without any range checks.
+     * This is meant for rasterizers that clip once per column and then
+     * write many blocks.
+     * @param lx x in chunk coords [0..sizeX-1]
+     * @param ly y in chunk coords [0..sizeY-1]
+     * @param lz z in chunk coords [0..sizeZ-1]
+     * @param block the actual block
+     */
+    public void setBlockLocal(int lx, int ly, int lz, Block block) {
         chunk.setBlock(lx, ly, lz, block);
     }
+
+    /**
+     * @return the world x coordinate of the chunk origin
+     */
+    public int getOriginX() {
+        return wx;
+    }
+
+    /**
+     * @return the world y coordinate of the chunk origin
+     */
+    public int getOriginY() {
+        return wy;
+    }
+
+    /**
+     * @return the world z coordinate of the chunk origin
+     */
+    public int getOriginZ() {
+        return wz;
+    }
 }
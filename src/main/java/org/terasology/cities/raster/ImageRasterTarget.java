@@ -29,26 +29,60 @@
 
 import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
- * Converts model elements into pixels in an image.
+ * Converts model elements into pixels in an image. Write operations are not range-checked,
+ * see {@link CheckedRasterTarget} for a variant that does.
+ * <p>
+ * The shaded colors of a block type are computed once for all heights that can be distinguished.
+ * Images of type {@link BufferedImage#TYPE_INT_RGB}, {@link BufferedImage#TYPE_INT_ARGB} and
+ * {@link BufferedImage#TYPE_INT_ARGB_PRE} are written directly through their data buffer,
+ * all other types through {@link BufferedImage#setRGB(int, int, int)}.
  */
 public class ImageRasterTarget implements RasterTarget {
 
     private static final Logger logger = LoggerFactory.getLogger(ImageRasterTarget.class);
 
+    /**
+     * The brightness is scaled linearly between height 0 and this height
+     */
+    private static final int SHADE_HEIGHT = 16;
+
     private final Function<BlockType, Color> blockColor;
     private final BlockAreac area;
 
     private final BufferedImage image;
-    private final short[][] heightMap;      // [x][z]
-    private final BlockType[][] typeMap;   // [x][z]
+    private final int width;
+    private final short[] heightMap;      // [z * width + x]
+    private final short[] typeMap;        // [z * width + x], palette indices
+
+    /**
+     * The backing array of the image or <code>null</code> if the image type is not supported
+     */
+    private final int[] pixels;
+    private final int pixelOffset;
+    private final int pixelStride;
+    private final int pixelMask;
+
+    private final List<PaletteEntry> palette = new ArrayList<>();
+    private final Map<BlockType, PaletteEntry> paletteMap = new IdentityHashMap<>();
+    private PaletteEntry lastEntry;
 
     private final int wz;
     private final int wx;
 
-    private BlockRegion region;
+    private final BlockRegion region;
+    private final int minHeight;
+    private final int maxHeight;
 
     /**
      * @param wx the world block x of the top-left corner
@@ -62,16 +96,46 @@ public ImageRasterTarget(int wx, int wz, BufferedImage image, Function<BlockType
         this.wx = wx;
         this.wz = wz;
 
-        int width = image.getWidth();
+        this.width = image.getWidth();
         int height = image.getHeight();
 
-        this.heightMap = new short[width][height];
-        this.typeMap = new BlockType[width][height];
+        this.heightMap = new short[width * height];
+        this.typeMap = new short[width * height];
+
+        // palette index zero is used for columns without any block
+        this.lastEntry = new PaletteEntry(null, 0, null);
+        this.palette.add(lastEntry);
 
         this.area = new BlockArea(wx, wz).setSize(width, height);
         this.region = new BlockRegion(wx, Short.MIN_VALUE, wz).setSize(width, Short.MAX_VALUE - Short.MIN_VALUE, height);
-    }
+        this.minHeight = region.minY();
+        this.maxHeight = region.maxY();
 
+        WritableRaster raster = image.getRaster();
+        DataBuffer buffer = raster.getDataBuffer();
+        int type = image.getType();
+        boolean direct = (type == BufferedImage.TYPE_INT_RGB
+                || type == BufferedImage.TYPE_INT_ARGB
+                || type == BufferedImage.TYPE_INT_ARGB_PRE)
+                && buffer instanceof DataBufferInt
+                && raster.getSampleModel() instanceof SinglePixelPackedSampleModel;
+
+        if (direct) {
+            // sub-images share the buffer of the parent image, so the translation needs to be considered
+            this.pixels = ((DataBufferInt) buffer).getData();
+            this.pixelStride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+            this.pixelOffset = buffer.getOffset()
+                    - raster.getSampleModelTranslateY() * pixelStride
+                    - raster.getSampleModelTranslateX();
+            // all shades are opaque, so premultiplied alpha does not change the color components
+            this.pixelMask = (type == BufferedImage.TYPE_INT_RGB) ? 0x00FFFFFF : 0xFFFFFFFF;
+        } else {
+            this.pixels = null;
+            this.pixelStride = 0;
+            this.pixelOffset = 0;
+            this.pixelMask = 0;
+        }
+    }
     @Override
     public BlockAreac getAffectedArea() {
         return area;
@@ -82,6 +146,16 @@ public BlockRegion getAffectedRegion() {
         return region;
     }
 
+    @Override
+    public int getMinHeight() {
+        return minHeight;
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
     /**
      * @param x x in world coords
      * @param y y in world coords
@@ -98,7 +172,44 @@ public void setBlock(int x, int y, int z, BlockType type, Set<Side> side) {
         setBlock(x, y, z, type); // ignore side flags
     }
 
+    @Override
+    public void setBlock(int x, int y, int z, BlockType type, byte sideMask) {
+        setBlock(x, y, z, type); // ignore side flags
+    }
+
+    /**
+     * Only the topmost block of the column is visible, so at most one block is rendered.
+     * @param x x in world coords
+     * @param z z in world coords
+     * @param bottom the bottom height in world coords (inclusive)
+     * @param top the top height in world coords (exclusive)
+     * @param type the block type
+     */
+    @Override
+    public void fillColumn(int x, int z, int bottom, int top, BlockType type) {
+        int minY = Math.max(bottom, minHeight);
+        int maxY = Math.min(top, maxHeight + 1) - 1;
+
+        if (minY > maxY) {
+            return;
+        }
+
+        if (type == DefaultBlockType.AIR) {
+            // air changes the column only if it replaces the top block
+            if (area.contains(x, z)) {
+                int height = getHeight(x, z);
+                if (height >= minY && height <= maxY) {
+                    renderBlock(x, height, z, type);
+                }
+            }
+        } else {
+            renderBlock(x, maxY, z, type);
+        }
+    }
+
     /**
+     * Renders the block without any range checks. Callers must clip against
+     * the affected area or use a {@link CheckedRasterTarget}.
      * @param x x in world coords
      * @param y y in world coords
      * @param z z in world coords
@@ -108,71 +219,100 @@ protected void renderBlock(int x, int y, int z, BlockType type) {
 
         int lx = x - wx;
         int lz = z - wz;
-
-        // TODO: remove
-        final boolean debugging = true;
-        final boolean warnOnly = true;
-        if (debugging) {
-            boolean xOk = lx >= 0 && lx < image.getWidth();
-            boolean yOk = y >= getMinHeight() && y < getMaxHeight();
-            boolean zOk = lz >= 0 && lz < image.getHeight();
-
-            if (warnOnly) {
-                if (!xOk) {
-                    logger.warn("X value of {} not in range [{}..{}]", x, wx, wx + image.getWidth() - 1);
-                    return;
-                }
-
-                if (!yOk) {
-                    logger.warn("Y value of {} not in range [{}..{}]", y, getMinHeight(), getMaxHeight() - 1);
-                    return;
-                }
-
-                if (!zOk) {
-                    logger.warn("Z value of {} not in range [{}..{}]", z, wz, wz + image.getHeight() - 1);
-                    return;
-                }
-            }
-        }
+        int idx = lz * width + lx;
 
         // if air is drawn at or below terrain level, then reduce height accordingly
         // The color remains unchanged which is wrong, but this information is not available in 2D
         if (type == DefaultBlockType.AIR) {
             // reduce top height only if the top block is replaced with air
-            if (heightMap[lx][lz] == y) {
-                heightMap[lx][lz] = (short) (y - 1);
+            if (heightMap[idx] == y) {
+                heightMap[idx] = (short) (y - 1);
             }
             return;
         }
 
-        Color color = blockColor.apply(type);
+        PaletteEntry entry = getPaletteEntry(type);
 
-        if (color == null) {
-            logger.warn("No mapping found for {}", type);
+        if (entry.shades == null) {
             return;
         }
 
-        if (heightMap[lx][lz] <= y) {
-            heightMap[lx][lz] = (short) y;
-            typeMap[lx][lz] = type;
-            float[] hsb = new float[3];
-            Color.RGBtoHSB(color.getRed(), color.getGreen(), color.getBlue(), hsb);
-            hsb[2] = hsb[2] * (0.5f + 0.5f * TeraMath.clamp(y / 16f));
-            image.setRGB(lx, lz, Color.HSBtoRGB(hsb[0], hsb[1], hsb[2]));
+        if (heightMap[idx] <= y) {
+            heightMap[idx] = (short) y;
+            typeMap[idx] = entry.index;
+            int argb = entry.shades[TeraMath.clamp(y, 0, SHADE_HEIGHT)];
+            if (pixels != null) {
+                pixels[pixelOffset + lz * pixelStride + lx] = argb & pixelMask;
+            } else {
+                image.setRGB(lx, lz, argb);
+            }
         }
     }
 
     public int getHeight(int x, int z) {
         int lx = x - wx;
         int lz = z - wz;
-        return heightMap[lx][lz];
+        return heightMap[lz * width + lx];
     }
 
     public BlockType getBlockType(int x, int z) {
         int lx = x - wx;
         int lz = z - wz;
-        BlockType type = typeMap[lx][lz];
-        return type;
+        return palette.get(typeMap[lz * width + lx]).type;
+    }
+
+    private PaletteEntry getPaletteEntry(BlockType type) {
+        if (lastEntry.type == type) {
+            return lastEntry;
+        }
+
+        PaletteEntry entry = paletteMap.get(type);
+        if (entry == null) {
+            if (palette.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many different block types: " + palette.size());
+            }
+            Color color = blockColor.apply(type);
+            if (color == null) {
+                logger.warn("No mapping found for {}", type);
+            }
+            entry = new PaletteEntry(type, palette.size(), createShades(color));
+            palette.add(entry);
+            paletteMap.put(type, entry);
+        }
+        lastEntry = entry;
+        return entry;
     }
 
+    /**
+     * @param color the base color or <code>null</code>
+     * @return the shaded ARGB values for the heights [0..SHADE_HEIGHT] or <code>null</code>
+     */
+    private static int[] createShades(Color color) {
+        if (color == null) {
+            return null;
+        }
+
+        float[] hsb = Color.RGBtoHSB(color.getRed(), color.getGreen(), color.getBlue(), null);
+        int[] shades = new int[SHADE_HEIGHT + 1];
+        for (int y = 0; y <= SHADE_HEIGHT; y++) {
+            float brightness = hsb[2] * (0.5f + 0.5f * TeraMath.clamp(y / (float) SHADE_HEIGHT));
+            shades[y] = Color.HSBtoRGB(hsb[0], hsb[1], brightness);
+        }
+        return shades;
+    }
+
+    /**
+     * A block type with its index in the palette and its precomputed colors
+     */
+    private static final class PaletteEntry {
+        private final BlockType type;
+        private final short index;
+        private final int[] shades;
+
+        PaletteEntry(BlockType type, int index, int[] shades) {
+            this.type = type;
+            this.index = (short) index;
+            this.shades = shades;
+        }
+    }
 }
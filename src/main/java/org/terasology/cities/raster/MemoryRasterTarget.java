@@ -0,0 +1,205 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.terasology.cities.BlockType;
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.engine.math.Side;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores block types in memory, without any connection to the engine's chunks.
+ * This is meant for tests, benchmarks and headless previews. Block types are mapped
+ * to palette indices that are stored in a flat array, where every column is contiguous.
+ * All cells are initialized with {@link DefaultBlockType#AIR}. Side flags are ignored.
+ * Write operations are not range-checked, see {@link CheckedRasterTarget} for a variant that does.
+ */
+public class MemoryRasterTarget implements RasterTarget {
+
+    private static final int MAX_PALETTE_SIZE = 1 << Short.SIZE;
+
+    private final BlockAreac area;
+    private final BlockRegionc region;
+
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+
+    private final int sizeY;
+    private final int sizeZ;
+
+    /**
+     * Palette indices in [x][z][y] order
+     */
+    private final short[] data;
+
+    private final List<BlockType> palette = new ArrayList<>();
+    private final Map<BlockType, Integer> paletteIndex = new IdentityHashMap<>();
+
+    private BlockType lastType;
+    private short lastIndex;
+
+    /**
+     * Creates a chunk-sized target with its XZ origin at (0, 0).
+     * @param minY the lowest height (inclusive)
+     * @param maxY the highest height (inclusive)
+     */
+    public MemoryRasterTarget(int minY, int maxY) {
+        this(new BlockRegion(0, minY, 0).setSize(Chunks.SIZE_X, maxY - minY + 1, Chunks.SIZE_Z));
+    }
+
+    /**
+     * @param region the region that is covered by this target
+     */
+    public MemoryRasterTarget(BlockRegionc region) {
+        this.region = new BlockRegion(region);
+        this.area = new BlockArea(region.minX(), region.minZ()).setSize(region.getSizeX(), region.getSizeZ());
+
+        this.minX = region.minX();
+        this.minY = region.minY();
+        this.minZ = region.minZ();
+
+        this.sizeY = region.getSizeY();
+        this.sizeZ = region.getSizeZ();
+
+        this.data = new short[region.getSizeX() * sizeY * sizeZ];
+
+        // all cells start with palette index zero
+        lastType = DefaultBlockType.AIR;
+        lastIndex = 0;
+        palette.add(lastType);
+        paletteIndex.put(lastType, 0);
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, BlockType type) {
+        data[columnStart(x, z) + y - minY] = getIndex(type);
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, BlockType type, Set<Side> side) {
+        setBlock(x, y, z, type); // ignore side flags
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, BlockType type, byte sideMask) {
+        setBlock(x, y, z, type); // ignore side flags
+    }
+
+    /**
+     * Clips the column against the height range and fills the remaining part at once.
+     * The column itself must be inside the affected area.
+     * @param x x in world coords
+     * @param z z in world coords
+     * @param bottom the bottom height in world coords (inclusive)
+     * @param top the top height in world coords (exclusive)
+     * @param type the block type
+     */
+    @Override
+    public void fillColumn(int x, int z, int bottom, int top, BlockType type) {
+        int ly0 = Math.max(bottom - minY, 0);
+        int ly1 = Math.min(top - minY, sizeY);
+        if (ly0 < ly1) {
+            int start = columnStart(x, z);
+            Arrays.fill(data, start + ly0, start + ly1, getIndex(type));
+        }
+    }
+
+    @Override
+    public int getMinHeight() {
+        return minY;
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return minY + sizeY - 1;
+    }
+
+    @Override
+    public BlockAreac getAffectedArea() {
+        return area;
+    }
+
+    @Override
+    public BlockRegionc getAffectedRegion() {
+        return region;
+    }
+
+    /**
+     * @param x x in world coords
+     * @param y y in world coords
+     * @param z z in world coords
+     * @return the block type at the given position
+     */
+    public BlockType getBlockType(int x, int y, int z) {
+        return palette.get(Short.toUnsignedInt(data[columnStart(x, z) + y - minY]));
+    }
+
+    /**
+     * @param x x in world coords
+     * @param z z in world coords
+     * @return a live view on the column, starting at the lowest height
+     */
+    public List<BlockType> getColumn(int x, int z) {
+        int start = columnStart(x, z);
+        return new AbstractList<BlockType>() {
+
+            @Override
+            public BlockType get(int index) {
+                if (index < 0 || index >= sizeY) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + sizeY);
+                }
+                return palette.get(Short.toUnsignedInt(data[start + index]));
+            }
+
+            @Override
+            public int size() {
+                return sizeY;
+            }
+        };
+    }
+
+    /**
+     * Resets all blocks to {@link DefaultBlockType#AIR}. The palette is kept.
+     */
+    public void clear() {
+        Arrays.fill(data, (short) 0);
+    }
+
+    private int columnStart(int x, int z) {
+        return ((x - minX) * sizeZ + (z - minZ)) * sizeY;
+    }
+
+    private short getIndex(BlockType type) {
+        if (type == lastType) {
+            return lastIndex;
+        }
+
+        Integer index = paletteIndex.get(type);
+        if (index == null) {
+            if (palette.size() == MAX_PALETTE_SIZE) {
+                throw new IllegalStateException("Too many different block types: " + MAX_PALETTE_SIZE);
+            }
+            index = palette.size();
+            palette.add(type);
+            paletteIndex.put(type, index);
+        }
+
+        lastType = type;
+        lastIndex = index.shortValue();
+        return lastIndex;
+    }
+}
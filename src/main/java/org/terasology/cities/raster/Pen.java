@@ -34,6 +34,30 @@ default void draw(Vector2ic p) {
         draw(p.x(), p.y());
     }
 
+    /**
+     * Draws a horizontal run of blocks along the x axis. The run must be inside the target area.
+     * @param x0 the first x coordinate (inclusive)
+     * @param x1 the last x coordinate (inclusive)
+     * @param z the z coordinate
+     */
+    default void drawSpan(int x0, int x1, int z) {
+        for (int x = x0; x <= x1; x++) {
+            draw(x, z);
+        }
+    }
+
+    /**
+     * Draws a run of blocks along the z axis. The run must be inside the target area.
+     * @param x the x coordinate
+     * @param z0 the first z coordinate (inclusive)
+     * @param z1 the last z coordinate (inclusive)
+     */
+    default void drawSpanZ(int x, int z0, int z1) {
+        for (int z = z0; z <= z1; z++) {
+            draw(x, z);
+        }
+    }
+
     /**
      * @return the valid target area
      */
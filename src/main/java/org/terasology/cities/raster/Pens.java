@@ -37,13 +37,32 @@ private Pens() {
      */
     public static Pen fill(RasterTarget target, int bottomHeight, int topHeight, BlockType type) {
         int bot = Math.max(target.getMinHeight(), bottomHeight);
-        int top = Math.min(target.getMaxHeight(), topHeight - 1);  // top layer is exclusive
+        int top = Math.min(target.getMaxHeight() + 1, topHeight);  // top layer is exclusive
+        boolean empty = bot >= top;
         return new AbstractPen(target.getAffectedArea()) {
 
             @Override
             public void draw(int x, int z) {
-                for (int y = bot; y <= top; y++) {
-                    target.setBlock(x, y, z, type);
+                if (!empty) {
+                    target.fillColumn(x, z, bot, top, type);
+                }
+            }
+
+            @Override
+            public void drawSpan(int x0, int x1, int z) {
+                if (!empty) {
+                    for (int x = x0; x <= x1; x++) {
+                        target.fillColumn(x, z, bot, top, type);
+                    }
+                }
+            }
+
+            @Override
+            public void drawSpanZ(int x, int z0, int z1) {
+                if (!empty) {
+                    for (int z = z0; z <= z1; z++) {
+                        target.fillColumn(x, z, bot, top, type);
+                    }
                 }
             }
         };
@@ -57,14 +76,34 @@ public void draw(int x, int z) {
      * @return a new instance
      */
     public static Pen fill(RasterTarget target, HeightMap hmBottom, HeightMap hmTop, BlockType type) {
+        int minY = target.getMinHeight();
+        int maxTop = target.getMaxHeight() + 1;  // top layer is exclusive
         return new AbstractPen(target.getAffectedArea()) {
 
             @Override
             public void draw(int x, int z) {
-                int bot = Math.max(target.getMinHeight(), hmBottom.apply(x, z));
-                int top = Math.min(target.getMaxHeight(), hmTop.apply(x, z) - 1);  // top layer is exclusive
-                for (int y = bot; y <= top; y++) {
-                    target.setBlock(x, y, z, type);
+                fillColumn(x, z);
+            }
+
+            @Override
+            public void drawSpan(int x0, int x1, int z) {
+                for (int x = x0; x <= x1; x++) {
+                    fillColumn(x, z);
+                }
+            }
+
+            @Override
+            public void drawSpanZ(int x, int z0, int z1) {
+                for (int z = z0; z <= z1; z++) {
+                    fillColumn(x, z);
+                }
+            }
+
+            private void fillColumn(int x, int z) {
+                int bot = Math.max(minY, hmBottom.apply(x, z));
+                int top = Math.min(maxTop, hmTop.apply(x, z));
+                if (bot < top) {
+                    target.fillColumn(x, z, bot, top, type);
                 }
             }
         };
@@ -77,12 +116,32 @@ public void draw(int x, int z) {
      * @return a new instance
      */
     public static Pen singleLayer(RasterTarget target, HeightMap hm, BlockType type) {
+        int minY = target.getMinHeight();
+        int maxY = target.getMaxHeight();
         return new AbstractPen(target.getAffectedArea()) {
 
             @Override
             public void draw(int x, int z) {
+                setBlock(x, z);
+            }
+
+            @Override
+            public void drawSpan(int x0, int x1, int z) {
+                for (int x = x0; x <= x1; x++) {
+                    setBlock(x, z);
+                }
+            }
+
+            @Override
+            public void drawSpanZ(int x, int z0, int z1) {
+                for (int z = z0; z <= z1; z++) {
+                    setBlock(x, z);
+                }
+            }
+
+            private void setBlock(int x, int z) {
                 int y = hm.apply(x, z);
-                if (y >= target.getMinHeight() && y <= target.getMaxHeight()) {
+                if (y >= minY && y <= maxY) {
                     target.setBlock(x, y, z, type);
                 }
             }
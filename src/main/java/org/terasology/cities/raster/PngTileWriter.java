@@ -0,0 +1,36 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.terasology.engine.world.block.BlockAreac;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes every tile as a PNG file <code>tile_&lt;x&gt;_&lt;z&gt;.png</code> into a folder.
+ */
+public class PngTileWriter implements TiledImageRenderer.TileSink {
+
+    private final Path folder;
+
+    /**
+     * @param folder the target folder. It is created if it does not exist.
+     * @throws IOException if the folder cannot be created
+     */
+    public PngTileWriter(Path folder) throws IOException {
+        this.folder = Files.createDirectories(folder);
+    }
+
+    @Override
+    public void accept(int tileX, int tileZ, BlockAreac area, BufferedImage image) throws IOException {
+        Path file = folder.resolve("tile_" + tileX + "_" + tileZ + ".png");
+        if (!ImageIO.write(image, "png", file.toFile())) {
+            throw new IOException("No PNG writer available for " + file);
+        }
+    }
+}
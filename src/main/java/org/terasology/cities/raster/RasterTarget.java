@@ -19,6 +19,7 @@
 import org.joml.Vector3ic;
 import org.terasology.cities.BlockType;
 import org.terasology.engine.math.Side;
+import org.terasology.engine.math.SideBitFlag;
 import org.terasology.engine.world.block.BlockAreac;
 import org.terasology.engine.world.block.BlockRegionc;
 
@@ -63,6 +64,41 @@ default void setBlock(Vector3ic pos, BlockType type, Set<Side> sides) {
         setBlock(pos.x(), pos.y(), pos.z(), type, sides);
     }
 
+    /**
+     * @param x x in world coords
+     * @param y y in world coords
+     * @param z z in world coords
+     * @param type the block type
+     * @param sideMask the sides as bit flags (see {@link SideBitFlag}), used to find the correct block from the family
+     */
+    default void setBlock(int x, int y, int z, BlockType type, byte sideMask) {
+        setBlock(x, y, z, type, SideBitFlag.getSides(sideMask));
+    }
+
+    /**
+     * @param pos the position in world coords
+     * @param type the block type
+     * @param sideMask the sides as bit flags (see {@link SideBitFlag}), used to find the correct block from the family
+     */
+    default void setBlock(Vector3ic pos, BlockType type, byte sideMask) {
+        setBlock(pos.x(), pos.y(), pos.z(), type, sideMask);
+    }
+
+    /**
+     * Fills a vertical column of blocks with the same block type.
+     * The default implementation calls {@link #setBlock(int, int, int, BlockType)} for every block.
+     * @param x x in world coords
+     * @param z z in world coords
+     * @param bottom the bottom height in world coords (inclusive)
+     * @param top the top height in world coords (exclusive)
+     * @param type the block type
+     */
+    default void fillColumn(int x, int z, int bottom, int top, BlockType type) {
+        for (int y = bottom; y < top; y++) {
+            setBlock(x, y, z, type);
+        }
+    }
+
     /**
      * @return the maximum drawing height
      */
@@ -45,8 +45,8 @@ public static void drawLineX(Pen pen, int x1, int x2, int z) {
         if (z >= rc.minY() && z <= rc.maxY()) {
             int minX = Math.max(x1, rc.minX());
             int maxX = Math.min(x2, rc.maxX());
-            for (int x = minX; x <= maxX; x++) {
-                pen.draw(x, z);
+            if (minX <= maxX) {
+                pen.drawSpan(minX, maxX, z);
             }
         }
     }
@@ -64,8 +64,8 @@ public static void drawLineZ(Pen pen, int x, int z1, int z2) {
         if (x >= rc.minX() && x <= rc.maxX()) {
             int minZ = Math.max(z1, rc.minY());
             int maxZ = Math.min(z2, rc.maxY());
-            for (int z = minZ; z <= maxZ; z++) {
-                pen.draw(x, z);
+            if (minZ <= maxZ) {
+                pen.drawSpanZ(x, minZ, maxZ);
             }
         }
     }
@@ -81,10 +81,9 @@ public static void fillRect(Pen pen, BlockAreac rect) {
             return;
         }
 
-        for (int z = rc.get().minY(); z <= rc.get().maxY(); z++) {
-            for (int x = rc.get().minX(); x <= rc.get().maxX(); x++) {
-                pen.draw(x, z);
-            }
+        BlockArea area = rc.get();
+        for (int z = area.minY(); z <= area.maxY(); z++) {
+            pen.drawSpan(area.minX(), area.maxX(), z);
         }
     }
     /**
@@ -179,50 +178,79 @@ private static void drawClippedLine(Pen pen, int x1, int z1, int x2, int z2) {
 
     /**
      * Draws a circle based on Horn's algorithm (see B. K. P. Horn: Circle Generators for Display Devices.
-     * Computer Graphics and Image Processing 5, 2 - June 1976)
+     * Computer Graphics and Image Processing 5, 2 - June 1976). The circle is emitted as horizontal
+     * runs that are clipped against the target area of the pen.
      * @param cx the center x
      * @param cy the center y
      * @param rad the radius
-     * @param checkedPen the receiving instance. Must be checked, because iterator could draw outside.
+     * @param pen the receiving instance
      */
-    public static void drawCircle(CheckedPen checkedPen, int cx, int cy, int rad) {
+    public static void drawCircle(Pen pen, int cx, int cy, int rad) {
+        if (rad < 0 || !touchesCircle(pen.getTargetArea(), cx, cy, rad)) {
+            return;
+        }
+
         int d = -rad;
         int x = rad;
         int y = 0;
+        int runStart = 0;   // the first y of the current run along the rows cy +/- x
         while (y <= x) {
-            checkedPen.draw(cx + x, cy + y);
-            checkedPen.draw(cx - x, cy + y);
-            checkedPen.draw(cx - x, cy - y);
-            checkedPen.draw(cx + x, cy - y);
-
-            checkedPen.draw(cx + y, cy + x);
-            checkedPen.draw(cx - y, cy + x);
-            checkedPen.draw(cx - y, cy - x);
-            checkedPen.draw(cx + y, cy - x);
-
-            d = d + 2 * y + 1;
-            y = y + 1;
-            if (d > 0) {
-                d = d - 2 * x + 2;
-                x = x - 1;
+            drawLineX(pen, cx + x, cx + x, cy + y);
+            drawLineX(pen, cx - x, cx - x, cy + y);
+            drawLineX(pen, cx - x, cx - x, cy - y);
+            drawLineX(pen, cx + x, cx + x, cy - y);
+
+            int nextD = d + 2 * y + 1;
+            int nextX = x;
+            int nextY = y + 1;
+            if (nextD > 0) {
+                nextD = nextD - 2 * x + 2;
+                nextX = x - 1;
             }
+
+            // the run along the rows cy +/- x ends when x changes or the octant is complete
+            if (nextX != x || nextY > nextX) {
+                drawLineX(pen, cx + runStart, cx + y, cy + x);
+                drawLineX(pen, cx - y, cx - runStart, cy + x);
+                drawLineX(pen, cx - y, cx - runStart, cy - x);
+                drawLineX(pen, cx + runStart, cx + y, cy - x);
+                runStart = nextY;
+            }
+
+            d = nextD;
+            x = nextX;
+            y = nextY;
         }
     }
 
     /**
+     * Fills a circle scanline by scanline. Every scanline is intersected with the target area only once.
      * @param cx the center x
      * @param cy the center y
      * @param rad the radius
      * @param pen the pen to draw
      */
-    public static void fillCircle(CheckedPen pen, int cx, int cy, int rad) {
-        for (int y = 0; y <= rad; y++) {
-            for (int x = 0; x * x + y * y <= (rad + 0.5) * (rad + 0.5); x++) {
-                pen.draw(cx + x, cy + y);
-                pen.draw(cx - x, cy + y);
-                pen.draw(cx - x, cy - y);
-                pen.draw(cx + x, cy - y);
+    public static void fillCircle(Pen pen, int cx, int cy, int rad) {
+        if (rad < 0 || !touchesCircle(pen.getTargetArea(), cx, cy, rad)) {
+            return;
+        }
+
+        // x * x + y * y <= (rad + 0.5) * (rad + 0.5) is equivalent to this for integer coordinates
+        int radSq = rad * rad + rad;
+        int dx = rad;
+        for (int dy = 0; dy <= rad; dy++) {
+            while (dx * dx + dy * dy > radSq) {
+                dx--;
+            }
+            drawLineX(pen, cx - dx, cx + dx, cy + dy);
+            if (dy > 0) {
+                drawLineX(pen, cx - dx, cx + dx, cy - dy);
             }
         }
     }
+
+    private static boolean touchesCircle(BlockAreac area, int cx, int cy, int rad) {
+        return cx + rad >= area.minX() && cx - rad <= area.maxX()
+            && cy + rad >= area.minY() && cy - rad <= area.maxY();
+    }
 }
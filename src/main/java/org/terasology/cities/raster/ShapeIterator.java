@@ -19,16 +19,31 @@
 import java.awt.Shape;
 import java.awt.geom.Line2D;
 import java.awt.geom.PathIterator;
-import java.awt.geom.Point2D;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
  * An iterator that runs along a shape using the flattening 
- * path iterator, generating Line2D elements.
+ * path iterator, generating Line2D elements. Use {@link #visitSegments(SegmentVisitor)}
+ * or {@link #getSegments(double[])} to avoid allocating one Line2D per segment.
  */
 public class ShapeIterator implements Iterable<Line2D> {
 
+    /**
+     * Receives the segments of a shape as primitive coordinates
+     */
+    @FunctionalInterface
+    public interface SegmentVisitor {
+
+        /**
+         * @param x0 the start x coordinate
+         * @param y0 the start y coordinate
+         * @param x1 the end x coordinate
+         * @param y1 the end y coordinate
+         */
+        void visit(double x0, double y0, double x1, double y1);
+    }
+
     private final Shape shape;
     private final double shapeFlatness;
 
@@ -46,96 +61,139 @@ public ShapeIterator(Shape shape, double shapeFlatness) {
      */
     @Override
     public Iterator<Line2D> iterator() {
-        return new SegmentIterator(shape, shapeFlatness);
+        return new SegmentIterator(new SegmentCursor(shape, shapeFlatness));
     }
-    
+
     /**
-     * Utility class that allows iterating over the segments of a shape
+     * Reports all segments of the shape to the visitor, without allocating per segment.
+     * @param visitor the visitor that receives the segments in path order
      */
-    private static final class SegmentIterator implements Iterator<Line2D> {
+    public void visitSegments(SegmentVisitor visitor) {
+        SegmentCursor cursor = new SegmentCursor(shape, shapeFlatness);
+        while (cursor.next()) {
+            visitor.visit(cursor.x0, cursor.y0, cursor.x1, cursor.y1);
+        }
+    }
+
+    /**
+     * Writes the segments of the shape as <code>x0, y0, x1, y1</code> quadruples into the given array.
+     * If the array is too small, only the segments that fit are written, but all segments are counted,
+     * so that the call can be repeated with an array of sufficient size.
+     * @param dest the target array
+     * @return the total number of segments
+     */
+    public int getSegments(double[] dest) {
+        SegmentCursor cursor = new SegmentCursor(shape, shapeFlatness);
+        int count = 0;
+        while (cursor.next()) {
+            int idx = count * 4;
+            if (idx + 4 <= dest.length) {
+                dest[idx] = cursor.x0;
+                dest[idx + 1] = cursor.y0;
+                dest[idx + 2] = cursor.x1;
+                dest[idx + 3] = cursor.y1;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Walks along the segments of the flattened path of a shape.
+     * The coordinates of the current segment are overwritten by every call to {@link #next()}.
+     */
+    private static final class SegmentCursor {
         /**
          * The (flattening) path iterator for the shape
          */
-        private PathIterator pi;
+        private final PathIterator pi;
 
         /**
          * Space for the coordinates of the path iterator
          */
-        private double[] coords = new double[6];
+        private final double[] coords = new double[6];
 
         /**
          * The the last point visited with SEG_MOVETO
          */
-        private Point2D firstPoint = new Point2D.Double();
-
-        /**
-         * The previous visited point
-         */
-        private Point2D previousPoint = new Point2D.Double();
+        private double firstX;
+        private double firstY;
 
         /**
-         * The next segment that will be returned
+         * The current segment
          */
-        private Line2D nextSegment;
+        private double x0;
+        private double y0;
+        private double x1;
+        private double y1;
 
         /**
-         * Creates a new SegmentIterator for the given shape
          * @param shape The shape
          * @param shapeFlatness The flatness of the shape, that will be passed
          *        to the {@link Shape#getPathIterator(java.awt.geom.AffineTransform, double)}
          *        method
          */
-        private SegmentIterator(Shape shape, double shapeFlatness) {
+        private SegmentCursor(Shape shape, double shapeFlatness) {
             pi = shape.getPathIterator(null, shapeFlatness);
-            nextSegment = computeNext();
         }
-        
+
         /**
-         * Compute the next segment
-         * @return The next segment, or <code>null</code> if there are no more segments
+         * Advances to the next segment
+         * @return true if there is a next segment, false if the end of the path has been reached
          */
-        private Line2D computeNext() {
-            Line2D result = null;
-            if (!pi.isDone()) {
+        private boolean next() {
+            while (!pi.isDone()) {
                 int type = pi.currentSegment(coords);
+                pi.next();
                 if (type == PathIterator.SEG_MOVETO) {
-                    firstPoint.setLocation(coords[0], coords[1]);
-                    previousPoint.setLocation(firstPoint);
-                    pi.next();
-
-                    if (!pi.isDone()) {
-                        int nextType = pi.currentSegment(coords);
-                        if (nextType == PathIterator.SEG_LINETO) {
-                            result = new Line2D.Double(previousPoint.getX(), previousPoint.getY(), coords[0], coords[1]);
-                            previousPoint.setLocation(coords[0], coords[1]);
-                        }
-                        pi.next();
-                    }
+                    firstX = coords[0];
+                    firstY = coords[1];
+                    x1 = firstX;
+                    y1 = firstY;
                 } else if (type == PathIterator.SEG_LINETO) {
-                    result = new Line2D.Double(previousPoint.getX(), previousPoint.getY(), coords[0], coords[1]);
-                    previousPoint.setLocation(coords[0], coords[1]);
-                    pi.next();
+                    return advanceTo(coords[0], coords[1]);
                 } else if (type == PathIterator.SEG_CLOSE) {
-                    result = new Line2D.Double(previousPoint.getX(), previousPoint.getY(), firstPoint.getX(), firstPoint.getY());
-                    previousPoint.setLocation(firstPoint.getX(), firstPoint.getY());
-                    pi.next();
+                    return advanceTo(firstX, firstY);
                 }
             }
-            return result;
+            return false;
+        }
+
+        private boolean advanceTo(double x, double y) {
+            x0 = x1;
+            y0 = y1;
+            x1 = x;
+            y1 = y;
+            return true;
+        }
+    }
+
+    /**
+     * Utility class that allows iterating over the segments of a shape
+     */
+    private static final class SegmentIterator implements Iterator<Line2D> {
+
+        private final SegmentCursor cursor;
+
+        private boolean hasNext;
+
+        private SegmentIterator(SegmentCursor cursor) {
+            this.cursor = cursor;
+            this.hasNext = cursor.next();
         }
 
         @Override
         public boolean hasNext() {
-            return nextSegment != null;
+            return hasNext;
         }
 
         @Override
         public Line2D next() {
-            if (nextSegment == null) {
+            if (!hasNext) {
                 throw new NoSuchElementException("No more elements");
             }
-            Line2D result = nextSegment;
-            nextSegment = computeNext();
+            Line2D result = new Line2D.Double(cursor.x0, cursor.y0, cursor.x1, cursor.y1);
+            hasNext = cursor.next();
             return result;
         }
 
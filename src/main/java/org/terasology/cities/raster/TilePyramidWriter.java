@@ -0,0 +1,181 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import com.google.common.base.Preconditions;
+import org.terasology.engine.world.block.BlockAreac;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes tiles into a slippy-map tile pyramid with the layout <code>&lt;zoom&gt;/&lt;x&gt;/&lt;y&gt;.png</code>.
+ * The tiles from the {@link TiledImageRenderer} form the level with the highest zoom. Once all tiles have been
+ * written, {@link #finish()} builds the lower levels. Every tile on a lower level is downsampled from its four children
+ * that are read back from disk, so only a few tiles are in memory at any time.
+ */
+public class TilePyramidWriter implements TiledImageRenderer.TileSink {
+
+    private final Path root;
+    private final int tileSize;
+    private final int maxZoom;
+
+    /**
+     * The tiles of the highest zoom level, packed with {@link #pack(int, int)}
+     */
+    private final Set<Long> tiles = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param root the root folder of the pyramid
+     * @param tileSize the edge length of the tiles in pixels, must be even
+     * @param maxZoom the zoom level of the rendered tiles
+     */
+    public TilePyramidWriter(Path root, int tileSize, int maxZoom) {
+        Preconditions.checkArgument(tileSize > 0 && tileSize % 2 == 0, "tileSize must be positive and even");
+        Preconditions.checkArgument(maxZoom >= 0 && maxZoom < Integer.SIZE - 1, "invalid zoom level: %s", maxZoom);
+        this.root = root;
+        this.tileSize = tileSize;
+        this.maxZoom = maxZoom;
+    }
+
+    /**
+     * @param area the area that is rendered
+     * @param tileSize the edge length of the tiles in blocks
+     * @return the lowest zoom level for which all tiles of the area fit into the pyramid
+     */
+    public static int getRequiredZoom(BlockAreac area, int tileSize) {
+        int tiles = Math.max(Math.floorDiv(area.getSizeX() + tileSize - 1, tileSize),
+                             Math.floorDiv(area.getSizeY() + tileSize - 1, tileSize));
+        int zoom = 0;
+        while ((1 << zoom) < tiles) {
+            zoom++;
+        }
+        return zoom;
+    }
+
+    @Override
+    public void accept(int tileX, int tileZ, BlockAreac area, BufferedImage image) throws IOException {
+        int count = 1 << maxZoom;
+        if (tileX < 0 || tileZ < 0 || tileX >= count || tileZ >= count) {
+            throw new IOException("Tile " + tileX + "/" + tileZ + " is outside of zoom level " + maxZoom);
+        }
+
+        BufferedImage tile = image;
+        if (image.getWidth() != tileSize || image.getHeight() != tileSize) {
+            // tiles at the border of the area can be smaller
+            tile = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = tile.createGraphics();
+            try {
+                g.drawImage(image, 0, 0, null);
+            } finally {
+                g.dispose();
+            }
+        }
+
+        write(tile, getTilePath(maxZoom, tileX, tileZ));
+        tiles.add(pack(tileX, tileZ));
+    }
+
+    /**
+     * Builds all levels below the highest zoom level. Must be called after all tiles have been written.
+     * @throws IOException if a tile cannot be read or written
+     */
+    public void finish() throws IOException {
+        int[] childPixels = new int[tileSize * tileSize];
+        int[] parentPixels = new int[tileSize * tileSize];
+
+        Set<Long> level = new HashSet<>(tiles);
+        for (int zoom = maxZoom - 1; zoom >= 0; zoom--) {
+            Set<Long> parents = new HashSet<>();
+            for (long key : level) {
+                parents.add(pack(unpackX(key) / 2, unpackY(key) / 2));
+            }
+
+            for (long key : parents) {
+                int x = unpackX(key);
+                int y = unpackY(key);
+                downsample(zoom + 1, x, y, childPixels, parentPixels);
+                BufferedImage tile = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_RGB);
+                tile.setRGB(0, 0, tileSize, tileSize, parentPixels, 0, tileSize);
+                write(tile, getTilePath(zoom, x, y));
+            }
+            level = parents;
+        }
+    }
+
+    /**
+     * @param zoom the zoom level
+     * @param x the tile column
+     * @param y the tile row
+     * @return the file of the tile
+     */
+    public Path getTilePath(int zoom, int x, int y) {
+        return root.resolve(Integer.toString(zoom)).resolve(Integer.toString(x)).resolve(y + ".png");
+    }
+
+    /**
+     * Averages 2x2 pixel blocks of the four children of a tile. Missing children remain black.
+     */
+    private void downsample(int childZoom, int x, int y, int[] childPixels, int[] parentPixels) throws IOException {
+        int half = tileSize / 2;
+        Arrays.fill(parentPixels, 0);
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            int dx = quadrant & 1;
+            int dy = quadrant >> 1;
+            Path file = getTilePath(childZoom, x * 2 + dx, y * 2 + dy);
+            if (!Files.exists(file)) {
+                continue;
+            }
+
+            BufferedImage child = ImageIO.read(file.toFile());
+            if (child == null) {
+                throw new IOException("Could not read " + file);
+            }
+            child.getRGB(0, 0, tileSize, tileSize, childPixels, 0, tileSize);
+
+            int offset = dy * half * tileSize + dx * half;
+            for (int py = 0; py < half; py++) {
+                for (int px = 0; px < half; px++) {
+                    int i = 2 * py * tileSize + 2 * px;
+                    parentPixels[offset + py * tileSize + px] = average(
+                            childPixels[i], childPixels[i + 1], childPixels[i + tileSize], childPixels[i + tileSize + 1]);
+                }
+            }
+        }
+    }
+
+    private static int average(int c0, int c1, int c2, int c3) {
+        int r = ((c0 >> 16 & 0xFF) + (c1 >> 16 & 0xFF) + (c2 >> 16 & 0xFF) + (c3 >> 16 & 0xFF) + 2) >> 2;
+        int g = ((c0 >> 8 & 0xFF) + (c1 >> 8 & 0xFF) + (c2 >> 8 & 0xFF) + (c3 >> 8 & 0xFF) + 2) >> 2;
+        int b = ((c0 & 0xFF) + (c1 & 0xFF) + (c2 & 0xFF) + (c3 & 0xFF) + 2) >> 2;
+        return 0xFF000000 | r << 16 | g << 8 | b;
+    }
+
+    private static void write(BufferedImage image, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        if (!ImageIO.write(image, "png", file.toFile())) {
+            throw new IOException("No PNG writer available for " + file);
+        }
+    }
+
+    private static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static int unpackX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int unpackY(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,168 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import com.google.common.base.Function;
+import com.google.common.base.Preconditions;
+import org.terasology.cities.BlockType;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Renders large areas into images by splitting them into square tiles. Every tile is
+ * rasterized into its own {@link ImageRasterTarget} on a fork-join pool.
+ * <p>
+ * The rasterizer is called concurrently for different tiles, so it must be thread-safe.
+ * It must not write outside the affected area of the target it receives.
+ */
+public class TiledImageRenderer {
+
+    /**
+     * Receives rendered tiles. Tiles arrive in no particular order and from several threads at the same time.
+     */
+    @FunctionalInterface
+    public interface TileSink {
+
+        /**
+         * @param tileX the tile column, starting at zero
+         * @param tileZ the tile row, starting at zero
+         * @param area the world area of the tile
+         * @param image the rendered tile. It is not used by the renderer after this call.
+         * @throws IOException if the tile cannot be written
+         */
+        void accept(int tileX, int tileZ, BlockAreac area, BufferedImage image) throws IOException;
+    }
+
+    private final ForkJoinPool pool;
+    private final int tileSize;
+    private final Function<BlockType, Color> blockColor;
+
+    /**
+     * @param pool the pool that runs the tile tasks
+     * @param tileSize the edge length of a tile in blocks
+     * @param blockColor a mapping block type -> color
+     */
+    public TiledImageRenderer(ForkJoinPool pool, int tileSize, Function<BlockType, Color> blockColor) {
+        Preconditions.checkArgument(tileSize > 0, "tileSize must be positive");
+        this.pool = pool;
+        this.tileSize = tileSize;
+        this.blockColor = blockColor;
+    }
+
+    /**
+     * Renders the area into a single image. All tiles draw into sub-images of it.
+     * @param area the world area to render
+     * @param rasterizer writes the content of a tile into the given target
+     * @return the image with the size of the area. Its top-left pixel corresponds to the min. corner of the area.
+     */
+    public BufferedImage render(BlockAreac area, Consumer<RasterTarget> rasterizer) {
+        BufferedImage image = new BufferedImage(area.getSizeX(), area.getSizeY(), BufferedImage.TYPE_INT_RGB);
+
+        // sub-images are created up-front, so worker threads only write into disjoint parts of the pixel array
+        List<Runnable> tiles = new ArrayList<>();
+        forEachTile(area, (tileX, tileZ, tileArea) -> {
+            int px = tileArea.minX() - area.minX();
+            int pz = tileArea.minY() - area.minY();
+            BufferedImage subImage = image.getSubimage(px, pz, tileArea.getSizeX(), tileArea.getSizeY());
+            tiles.add(() -> rasterizer.accept(new ImageRasterTarget(tileArea.minX(), tileArea.minY(), subImage, blockColor)));
+        });
+
+        pool.invoke(new TileRange(tiles, 0, tiles.size()));
+        return image;
+    }
+
+    /**
+     * Renders the area tile by tile and passes every tile to the sink once it is complete.
+     * Only the tiles that are currently processed are kept in memory.
+     * @param area the world area to render
+     * @param rasterizer writes the content of a tile into the given target
+     * @param sink receives the rendered tiles
+     * @throws IOException if the sink fails to write a tile
+     */
+    public void render(BlockAreac area, Consumer<RasterTarget> rasterizer, TileSink sink) throws IOException {
+        List<Runnable> tiles = new ArrayList<>();
+        forEachTile(area, (tileX, tileZ, tileArea) -> tiles.add(() -> {
+            BufferedImage image = new BufferedImage(tileArea.getSizeX(), tileArea.getSizeY(), BufferedImage.TYPE_INT_RGB);
+            rasterizer.accept(new ImageRasterTarget(tileArea.minX(), tileArea.minY(), image, blockColor));
+            try {
+                sink.accept(tileX, tileZ, tileArea, image);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+
+        try {
+            pool.invoke(new TileRange(tiles, 0, tiles.size()));
+        } catch (RuntimeException e) {
+            // the pool may wrap exceptions that were thrown in other threads
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) t).getCause();
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the edge length of a tile in blocks
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    private void forEachTile(BlockAreac area, TileVisitor visitor) {
+        for (int z = area.minY(), tileZ = 0; z <= area.maxY(); z += tileSize, tileZ++) {
+            for (int x = area.minX(), tileX = 0; x <= area.maxX(); x += tileSize, tileX++) {
+                int sizeX = Math.min(tileSize, area.maxX() - x + 1);
+                int sizeZ = Math.min(tileSize, area.maxY() - z + 1);
+                visitor.visit(tileX, tileZ, new BlockArea(x, z).setSize(sizeX, sizeZ));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface TileVisitor {
+        void visit(int tileX, int tileZ, BlockAreac tileArea);
+    }
+
+    /**
+     * Splits a range of tiles in halves until single tiles remain
+     */
+    private static final class TileRange extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Runnable> tiles;
+        private final int from;
+        private final int to;
+
+        TileRange(List<Runnable> tiles, int from, int to) {
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int count = to - from;
+            if (count == 1) {
+                tiles.get(from).run();
+            } else if (count > 1) {
+                int mid = from + count / 2;
+                invokeAll(new TileRange(tiles, from, mid), new TileRange(tiles, mid, to));
+            }
+        }
+    }
+}
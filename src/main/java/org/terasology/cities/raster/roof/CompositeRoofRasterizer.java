@@ -0,0 +1,74 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster.roof;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.cities.model.roof.Roof;
+import org.terasology.cities.raster.RasterTarget;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delegates to the most specific registered rasterizer for every roof.
+ * Roofs without a matching rasterizer are skipped with a warning.
+ */
+public class CompositeRoofRasterizer implements RoofRasterizer<Roof> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompositeRoofRasterizer.class);
+
+    private final Map<Class<?>, RoofRasterizer<?>> rasterizers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<RoofRasterizer<?>>> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * @return a new instance with rasterizers for all roof types
+     */
+    public static CompositeRoofRasterizer createDefault() {
+        CompositeRoofRasterizer composite = new CompositeRoofRasterizer();
+        composite.register(new HipRoofRasterizer());
+        composite.register(new SaddleRoofRasterizer());
+        composite.register(new PentRoofRasterizer());
+        composite.register(new DomeRoofRasterizer());
+        composite.register(new FlatRoofRasterizer());
+        composite.register(new ConicRoofRasterizer());
+        return composite;
+    }
+
+    /**
+     * Registers a rasterizer for its target class.
+     * @param rasterizer the rasterizer to add
+     */
+    public void register(RoofRasterizer<?> rasterizer) {
+        rasterizers.put(rasterizer.getTargetClass(), rasterizer);
+        resolved.clear();
+    }
+
+    @Override
+    public Class<Roof> getTargetClass() {
+        return Roof.class;
+    }
+
+    @Override
+    public void raster(RasterTarget target, Roof roof) {
+        Optional<RoofRasterizer<?>> rasterizer = resolved.computeIfAbsent(roof.getClass(), this::resolve);
+        rasterizer.ifPresent(r -> rasterRoof(r, target, roof));
+    }
+
+    private Optional<RoofRasterizer<?>> resolve(Class<?> roofClass) {
+        for (Class<?> clazz = roofClass; clazz != null; clazz = clazz.getSuperclass()) {
+            RoofRasterizer<?> rasterizer = rasterizers.get(clazz);
+            if (rasterizer != null) {
+                return Optional.of(rasterizer);
+            }
+        }
+        logger.warn("No rasterizer found for {}", roofClass);
+        return Optional.empty();
+    }
+
+    private static <T extends Roof> void rasterRoof(RoofRasterizer<T> rasterizer, RasterTarget target, Roof roof) {
+        rasterizer.raster(target, rasterizer.getTargetClass().cast(roof));
+    }
+}
@@ -0,0 +1,108 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster.roof;
+
+import org.terasology.cities.BlockType;
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.cities.model.roof.ConicRoof;
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.joml.geom.Circlef;
+import org.terasology.math.TeraMath;
+
+/**
+ * Rasterizes {@link ConicRoof}s. Only the scanlines of the circle that overlap the target area are visited.
+ * Every column belongs to a ring <code>k</code>, the smallest value with <code>dx*dx + dz*dz &lt;= k*k + k</code>
+ * (the same criterion as {@link org.terasology.cities.raster.RasterUtil#fillCircle}).
+ * The roof is <code>(radius - k) * pitch</code> blocks above its base height in ring <code>k</code>.
+ * Rings are tracked incrementally along each scanline, so no square root is computed per block.
+ */
+public class ConicRoofRasterizer implements RoofRasterizer<ConicRoof> {
+
+    private final BlockType blockType;
+
+    public ConicRoofRasterizer() {
+        this(DefaultBlockType.ROOF_HIP);
+    }
+
+    /**
+     * @param blockType the block type of the roof surface
+     */
+    public ConicRoofRasterizer(BlockType blockType) {
+        this.blockType = blockType;
+    }
+
+    @Override
+    public Class<ConicRoof> getTargetClass() {
+        return ConicRoof.class;
+    }
+
+    @Override
+    public void raster(RasterTarget target, ConicRoof roof) {
+        Circlef circle = roof.getArea();
+        int cx = TeraMath.floorToInt(circle.x);
+        int cz = TeraMath.floorToInt(circle.y);
+        int rad = TeraMath.floorToInt(circle.r);
+
+        BlockAreac area = target.getAffectedArea();
+        int minZ = Math.max(cz - rad, area.minY());
+        int maxZ = Math.min(cz + rad, area.maxY());
+        if (minZ > maxZ || cx - rad > area.maxX() || cx + rad < area.minX()) {
+            return;
+        }
+
+        int pitch = roof.getPitch();
+        int thickness = Math.max(1, pitch);
+        int apex = roof.getBaseHeight() + rad * pitch;
+        int minY = target.getMinHeight();
+        int maxTop = target.getMaxHeight() + 1;  // top layer is exclusive
+
+        // the part of each scanline right of the center (dx >= 0) and left of it (dx < 0) are walked outwards
+        int rightStart = Math.max(0, area.minX() - cx);
+        int rightEnd = Math.min(rad, area.maxX() - cx);
+        int leftStart = Math.max(1, cx - area.maxX());
+        int leftEnd = Math.min(rad, cx - area.minX());
+
+        for (int z = minZ; z <= maxZ; z++) {
+            int dz = z - cz;
+            int dzSq = dz * dz;
+            for (int side = 1; side >= -1; side -= 2) {
+                int start = (side > 0) ? rightStart : leftStart;
+                int end = (side > 0) ? rightEnd : leftEnd;
+                int k = ring(start * start + dzSq);
+                for (int dx = start; dx <= end; dx++) {
+                    int distSq = dx * dx + dzSq;
+                    while (distSq > k * k + k) {
+                        k++;
+                    }
+                    if (k > rad) {
+                        break;
+                    }
+                    int height = apex - k * pitch;
+                    int bot = Math.max(minY, height);
+                    int top = Math.min(maxTop, height + thickness);
+                    if (bot < top) {
+                        target.fillColumn(cx + side * dx, z, bot, top, blockType);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the ring once per scanline segment. The floating-point estimate is corrected to the exact value.
+     * @param distSq the squared distance to the center
+     * @return the smallest k with distSq &lt;= k*k + k
+     */
+    static int ring(int distSq) {
+        int k = (int) ((Math.sqrt(4.0 * distSq + 1) - 1) * 0.5);
+        while (k > 0 && distSq <= (k - 1) * k) {
+            k--;
+        }
+        while (distSq > k * k + k) {
+            k++;
+        }
+        return k;
+    }
+}
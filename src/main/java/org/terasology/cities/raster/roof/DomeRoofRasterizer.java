@@ -0,0 +1,46 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster.roof;
+
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.cities.model.roof.DomeRoof;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockAreac;
+
+/**
+ * Rasterizes {@link DomeRoof}s as half ellipsoids that fill the roof area.
+ * Columns outside of the ellipse remain empty.
+ */
+public class DomeRoofRasterizer extends RectangularRoofRasterizer<DomeRoof> {
+
+    public DomeRoofRasterizer() {
+        super(DomeRoof.class, DefaultBlockType.ROOF_DOME);
+    }
+
+    @Override
+    public HeightMap getBottomHeightMap(DomeRoof roof) {
+        return HeightMaps.constant(roof.getBaseHeight());
+    }
+
+    @Override
+    public HeightMap getTopHeightMap(DomeRoof roof, HeightMap bottom) {
+        BlockAreac area = roof.getArea();
+        int baseHeight = roof.getBaseHeight();
+        int height = roof.getHeight();
+        double centerX = (area.minX() + area.maxX()) * 0.5;
+        double centerZ = (area.minY() + area.maxY()) * 0.5;
+        double radiusX = area.getSizeX() * 0.5;
+        double radiusZ = area.getSizeY() * 0.5;
+        return (x, z) -> {
+            double dx = (x - centerX) / radiusX;
+            double dz = (z - centerZ) / radiusZ;
+            double rem = 1 - dx * dx - dz * dz;
+            if (rem < 0) {
+                return baseHeight;
+            }
+            return baseHeight + (int) (height * Math.sqrt(rem)) + 1;
+        };
+    }
+}
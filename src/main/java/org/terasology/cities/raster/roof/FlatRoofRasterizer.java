@@ -0,0 +1,40 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster.roof;
+
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.cities.model.roof.BattlementRoof;
+import org.terasology.cities.model.roof.FlatRoof;
+import org.terasology.cities.raster.Pen;
+import org.terasology.cities.raster.Pens;
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.cities.raster.RasterUtil;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockAreac;
+
+/**
+ * Rasterizes {@link FlatRoof}s (including {@link BattlementRoof}s) as a single layer
+ * with a border on top of the outer edge.
+ */
+public class FlatRoofRasterizer extends RectangularRoofRasterizer<FlatRoof> {
+
+    public FlatRoofRasterizer() {
+        super(FlatRoof.class, DefaultBlockType.ROOF_FLAT);
+    }
+
+    @Override
+    public HeightMap getBottomHeightMap(FlatRoof roof) {
+        return HeightMaps.constant(roof.getBaseHeight());
+    }
+
+    @Override
+    protected void rasterDetails(RasterTarget target, FlatRoof roof, HeightMap bottom) {
+        BlockAreac area = roof.getArea();
+        int borderBase = roof.getBaseHeight() + 1;
+        HeightMap borderTop = (x, z) -> borderBase + roof.getBorderHeight(x - area.minX(), z - area.minY());
+        Pen pen = Pens.fill(target, HeightMaps.constant(borderBase), borderTop, DefaultBlockType.ROOF_FLAT);
+        RasterUtil.drawRect(pen, area);
+    }
+}
@@ -0,0 +1,39 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster.roof;
+
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.cities.model.roof.AbstractRoof;
+import org.terasology.cities.model.roof.HipRoof;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.engine.world.block.BlockAreac;
+
+/**
+ * Rasterizes {@link HipRoof}s. The roof rises from all four edges towards the center
+ * until it reaches the max. height.
+ */
+public class HipRoofRasterizer extends RectangularRoofRasterizer<HipRoof> {
+
+    public HipRoofRasterizer() {
+        super(HipRoof.class, DefaultBlockType.ROOF_HIP);
+    }
+
+    @Override
+    public HeightMap getBottomHeightMap(HipRoof roof) {
+        BlockAreac area = roof.getArea();
+        int baseHeight = roof.getBaseHeight();
+        int maxHeight = roof.getMaxHeight();
+        double pitch = roof.getPitch();
+        return (x, z) -> {
+            int distX = Math.min(x - area.minX(), area.maxX() - x);
+            int distZ = Math.min(z - area.minY(), area.maxY() - z);
+            return Math.min(baseHeight + (int) (Math.min(distX, distZ) * pitch), maxHeight);
+        };
+    }
+
+    @Override
+    protected int getThickness(HipRoof roof) {
+        return AbstractRoof.getThickness(roof.getPitch());
+    }
+}
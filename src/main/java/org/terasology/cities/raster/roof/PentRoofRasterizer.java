@@ -0,0 +1,58 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster.roof;
+
+import org.joml.Vector2ic;
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.cities.model.roof.AbstractRoof;
+import org.terasology.cities.model.roof.PentRoof;
+import org.terasology.cities.raster.Pens;
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.cities.raster.RasterUtil;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockAreac;
+
+/**
+ * Rasterizes {@link PentRoof}s. The roof rises from the opposite edge towards the edge
+ * in the direction of the orientation. The gables close the space between the base height
+ * and the roof along the walls of the building.
+ */
+public class PentRoofRasterizer extends RectangularRoofRasterizer<PentRoof> {
+
+    public PentRoofRasterizer() {
+        super(PentRoof.class, DefaultBlockType.ROOF_SADDLE);
+    }
+
+    @Override
+    public HeightMap getBottomHeightMap(PentRoof roof) {
+        BlockAreac area = roof.getArea();
+        int baseHeight = roof.getBaseHeight();
+        double pitch = roof.getPitch();
+        Vector2ic dir = roof.getOrientation().direction();
+        int dirX = Integer.signum(dir.x());
+        int dirZ = Integer.signum(dir.y());
+        return (x, z) -> {
+            int dist = 0;
+            if (dirX != 0) {
+                dist += (dirX > 0) ? x - area.minX() : area.maxX() - x;
+            }
+            if (dirZ != 0) {
+                dist += (dirZ > 0) ? z - area.minY() : area.maxY() - z;
+            }
+            return baseHeight + (int) (dist * pitch);
+        };
+    }
+
+    @Override
+    protected int getThickness(PentRoof roof) {
+        return AbstractRoof.getThickness(roof.getPitch());
+    }
+
+    @Override
+    protected void rasterDetails(RasterTarget target, PentRoof roof, HeightMap bottom) {
+        HeightMap gableBottom = HeightMaps.constant(roof.getBaseHeight());
+        RasterUtil.drawRect(Pens.fill(target, gableBottom, bottom, DefaultBlockType.ROOF_GABLE), roof.getBaseArea());
+    }
+}
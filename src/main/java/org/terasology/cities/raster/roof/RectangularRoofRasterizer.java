@@ -0,0 +1,81 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster.roof;
+
+import org.terasology.cities.BlockType;
+import org.terasology.cities.model.roof.RectangularRoof;
+import org.terasology.cities.raster.Pen;
+import org.terasology.cities.raster.Pens;
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.cities.raster.RasterUtil;
+import org.terasology.commonworld.heightmap.HeightMap;
+
+/**
+ * Rasterizes roofs whose surface can be described by a height map over the roof area (including eaves).
+ * Every column is computed in closed form, so the cost depends only on the number of columns
+ * in the intersection of roof area and target area.
+ * @param <T> the roof type
+ */
+public abstract class RectangularRoofRasterizer<T extends RectangularRoof> implements RoofRasterizer<T> {
+
+    private final Class<T> targetClass;
+    private final BlockType blockType;
+
+    /**
+     * @param targetClass the roof class
+     * @param blockType the block type of the roof surface
+     */
+    protected RectangularRoofRasterizer(Class<T> targetClass, BlockType blockType) {
+        this.targetClass = targetClass;
+        this.blockType = blockType;
+    }
+
+    @Override
+    public Class<T> getTargetClass() {
+        return targetClass;
+    }
+
+    @Override
+    public void raster(RasterTarget target, T roof) {
+        HeightMap bottom = getBottomHeightMap(roof);
+        Pen pen = Pens.fill(target, bottom, getTopHeightMap(roof, bottom), blockType);
+        RasterUtil.fillRect(pen, roof.getArea());
+        rasterDetails(target, roof, bottom);
+    }
+
+    /**
+     * @param roof the roof
+     * @return the lowest roof block per column (inclusive)
+     */
+    public abstract HeightMap getBottomHeightMap(T roof);
+
+    /**
+     * The default implementation adds the thickness of the roof to the bottom height map.
+     * @param roof the roof
+     * @param bottom the bottom height map of the roof
+     * @return the top surface of the roof per column (exclusive)
+     */
+    public HeightMap getTopHeightMap(T roof, HeightMap bottom) {
+        int thickness = getThickness(roof);
+        return (x, z) -> bottom.apply(x, z) + thickness;
+    }
+
+    /**
+     * @param roof the roof
+     * @return the number of blocks per column
+     */
+    protected int getThickness(T roof) {
+        return 1;
+    }
+
+    /**
+     * Draws additional elements such as gables or borders. Does nothing by default.
+     * @param target the target to write to
+     * @param roof the roof
+     * @param bottom the bottom height map of the roof
+     */
+    protected void rasterDetails(RasterTarget target, T roof, HeightMap bottom) {
+        // no details
+    }
+}
@@ -0,0 +1,27 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster.roof;
+
+import org.terasology.cities.model.roof.Roof;
+import org.terasology.cities.raster.RasterTarget;
+
+/**
+ * Converts roofs of a certain type into blocks. Implementations must be stateless,
+ * because the same instance is used for different targets in parallel.
+ * @param <T> the roof type
+ */
+public interface RoofRasterizer<T extends Roof> {
+
+    /**
+     * @return the roof class that is supported by this rasterizer (including sub-classes)
+     */
+    Class<T> getTargetClass();
+
+    /**
+     * Writes the part of the roof that is inside the affected area of the target.
+     * @param target the target to write to
+     * @param roof the roof
+     */
+    void raster(RasterTarget target, T roof);
+}
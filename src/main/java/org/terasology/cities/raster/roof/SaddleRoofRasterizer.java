@@ -0,0 +1,61 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster.roof;
+
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.cities.model.roof.AbstractRoof;
+import org.terasology.cities.model.roof.SaddleRoof;
+import org.terasology.cities.raster.Pen;
+import org.terasology.cities.raster.Pens;
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.cities.raster.RasterUtil;
+import org.terasology.commonworld.Orientation;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockAreac;
+
+/**
+ * Rasterizes {@link SaddleRoof}s. The ridge runs along the x axis for EAST and WEST and along the z axis
+ * otherwise. The gables close the space between the base height and the roof at both ends of the ridge.
+ */
+public class SaddleRoofRasterizer extends RectangularRoofRasterizer<SaddleRoof> {
+
+    public SaddleRoofRasterizer() {
+        super(SaddleRoof.class, DefaultBlockType.ROOF_SADDLE);
+    }
+
+    @Override
+    public HeightMap getBottomHeightMap(SaddleRoof roof) {
+        BlockAreac area = roof.getArea();
+        int baseHeight = roof.getBaseHeight();
+        double pitch = roof.getPitch();
+        if (isAlongX(roof)) {
+            return (x, z) -> baseHeight + (int) (Math.min(z - area.minY(), area.maxY() - z) * pitch);
+        } else {
+            return (x, z) -> baseHeight + (int) (Math.min(x - area.minX(), area.maxX() - x) * pitch);
+        }
+    }
+
+    @Override
+    protected int getThickness(SaddleRoof roof) {
+        return AbstractRoof.getThickness(roof.getPitch());
+    }
+
+    @Override
+    protected void rasterDetails(RasterTarget target, SaddleRoof roof, HeightMap bottom) {
+        BlockAreac base = roof.getBaseArea();
+        Pen pen = Pens.fill(target, HeightMaps.constant(roof.getBaseHeight()), bottom, DefaultBlockType.ROOF_GABLE);
+        if (isAlongX(roof)) {
+            RasterUtil.drawLineZ(pen, base.minX(), base.minY(), base.maxY());
+            RasterUtil.drawLineZ(pen, base.maxX(), base.minY(), base.maxY());
+        } else {
+            RasterUtil.drawLineX(pen, base.minX(), base.maxX(), base.minY());
+            RasterUtil.drawLineX(pen, base.minX(), base.maxX(), base.maxY());
+        }
+    }
+
+    private static boolean isAlongX(SaddleRoof roof) {
+        return roof.getOrientation() == Orientation.EAST || roof.getOrientation() == Orientation.WEST;
+    }
+}
@@ -0,0 +1,59 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.cities.common.Footprints;
+import org.terasology.cities.model.roof.HipRoof;
+import org.terasology.cities.model.roof.RectangularRoof;
+import org.terasology.commonworld.Orientation;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.joml.geom.Circlef;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests the bounding regions of {@link BuildingPart}s and {@link DefaultBuilding}s.
+ */
+public class BoundingRegionTest {
+
+    private final BlockAreac layout = new BlockArea(0, 0).setSize(10, 6);
+    private final BlockAreac eaves = new BlockArea(-1, -1).setSize(12, 8);
+
+    @Test
+    public void testRectPart() {
+        // from the floor below the base height to the ridge of the roof, including the eaves
+        RectBuildingPart part = new RectBuildingPart(layout, new HipRoof(layout, eaves, 10, 1), 5, 5);
+        assertEquals(new BlockRegion(-1, 4, -1, 10, 13, 6), part.getBoundingRegion());
+        assertEquals(new BlockArea(-1, -1, 10, 6), Footprints.of(part));
+    }
+
+    @Test
+    public void testWallsAboveRoof() {
+        // a roof that sits below the top of the walls does not lower the region
+        RectBuildingPart part = new RectBuildingPart(layout, new RectangularRoof(layout, layout, 3), 2, 6);
+        assertEquals(new BlockRegion(0, 1, 0, 9, 8, 5), part.getBoundingRegion());
+    }
+
+    @Test
+    public void testRoundPart() {
+        Circlef circle = new Circlef(5.5f, 5.5f, 3);
+        RoundBuildingPart part = new RoundBuildingPart(circle, new RectangularRoof(layout, layout, 8), 3, 5);
+        assertEquals(new BlockRegion(0, 2, 0, 9, 8, 9), part.getBoundingRegion());
+    }
+
+    @Test
+    public void testBuilding() {
+        DefaultBuilding building = new DefaultBuilding(Orientation.NORTH);
+        assertFalse(building.getBoundingRegion().isValid());
+
+        building.addPart(new RectBuildingPart(layout, new HipRoof(layout, eaves, 10, 1), 5, 5));
+        building.addPart(new RectBuildingPart(new BlockArea(20, 3).setSize(4, 4), new RectangularRoof(layout, layout, 3), 2, 2));
+        assertEquals(new BlockRegion(-1, 1, -1, 23, 13, 6), building.getBoundingRegion());
+        assertEquals(new BlockArea(-1, -1, 23, 6), Footprints.of(building));
+    }
+}
@@ -19,6 +19,7 @@
 import org.junit.jupiter.api.Test;
 import org.terasology.cities.BlockType;
 import org.terasology.cities.raster.BuildingPens;
+import org.terasology.cities.raster.MemoryRasterTarget;
 import org.terasology.cities.raster.Pen;
 import org.terasology.cities.raster.RasterTarget;
 import org.terasology.cities.raster.RasterUtil;
@@ -44,7 +45,7 @@ public class BuildingPartRasterizerTest {
 
     @Test
     public void testPrepareFloorFullyInside() {
-        DebugRasterTarget target = new DebugRasterTarget(0, 9);
+        MemoryRasterTarget target = new MemoryRasterTarget(0, 9);
         HeightMap terrainHeightMap = HeightMaps.constant(3);
         int baseHeight = 5;
         fillColumn(target, 0, baseHeight - 1, FENCE);
@@ -61,7 +62,7 @@ public void testPrepareFloorFullyInside() {
 
     @Test
     public void testPrepareFloorTooLow() {
-        DebugRasterTarget target = new DebugRasterTarget(-2, 2);
+        MemoryRasterTarget target = new MemoryRasterTarget(-2, 2);
         HeightMap terrainHeightMap = HeightMaps.constant(3);
         int baseHeight = 5;
         fillColumn(target, -2, 2, FENCE);
@@ -75,7 +76,7 @@ public void testPrepareFloorTooLow() {
 
     @Test
     public void testPrepareFloorTooHigh() {
-        DebugRasterTarget target = new DebugRasterTarget(6, 8);
+        MemoryRasterTarget target = new MemoryRasterTarget(6, 8);
         HeightMap terrainHeightMap = HeightMaps.constant(3);
         int baseHeight = 5;
         Pen pen = BuildingPens.floorPen(target, terrainHeightMap, baseHeight, BUILDING_FLOOR);
@@ -88,7 +89,7 @@ public void testPrepareFloorTooHigh() {
 
     @Test
     public void testPrepareFloorPartlyTooHigh() {
-        DebugRasterTarget target = new DebugRasterTarget(4, 6);
+        MemoryRasterTarget target = new MemoryRasterTarget(4, 6);
         HeightMap terrainHeightMap = HeightMaps.constant(3);
         int baseHeight = 6;
         Pen pen = BuildingPens.floorPen(target, terrainHeightMap, baseHeight, BUILDING_FLOOR);
@@ -101,7 +102,7 @@ public void testPrepareFloorPartlyTooHigh() {
 
     @Test
     public void testPrepareFloorPartlyTooLow() {
-        DebugRasterTarget target = new DebugRasterTarget(2, 4);
+        MemoryRasterTarget target = new MemoryRasterTarget(2, 4);
         HeightMap terrainHeightMap = HeightMaps.constant(3);
         int baseHeight = 6;
         fillColumn(target, 2, 4, FENCE);
@@ -115,7 +116,7 @@ public void testPrepareFloorPartlyTooLow() {
 
     @Test
     public void testPrepareFloorFillWithAir() {
-        DebugRasterTarget target = new DebugRasterTarget(1, 6);
+        MemoryRasterTarget target = new MemoryRasterTarget(1, 6);
         HeightMap terrainHeightMap = HeightMaps.constant(5);
         int baseHeight = 4;
         fillColumn(target, 1, baseHeight, FENCE);
@@ -129,7 +130,7 @@ public void testPrepareFloorFillWithAir() {
 
     @Test
     public void testPrepareFloorFillWithAirTooLow() {
-        DebugRasterTarget target = new DebugRasterTarget(-2, 2);
+        MemoryRasterTarget target = new MemoryRasterTarget(-2, 2);
         HeightMap terrainHeightMap = HeightMaps.constant(5);
         int baseHeight = 3;
         fillColumn(target, -2, 2, FENCE);
@@ -143,7 +144,7 @@ public void testPrepareFloorFillWithAirTooLow() {
 
     @Test
     public void testPrepareFloorFillWithAirTooHigh() {
-        DebugRasterTarget target = new DebugRasterTarget(6, 10);
+        MemoryRasterTarget target = new MemoryRasterTarget(6, 10);
         HeightMap terrainHeightMap = HeightMaps.constant(5);
         int baseHeight = 3;
         Pen pen = BuildingPens.floorPen(target, terrainHeightMap, baseHeight, BUILDING_FLOOR);
@@ -0,0 +1,101 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg;
+
+import org.joml.Vector2i;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+import org.terasology.cities.BlockType;
+import org.terasology.cities.door.SimpleDoor;
+import org.terasology.cities.model.roof.FlatRoof;
+import org.terasology.cities.raster.MemoryRasterTarget;
+import org.terasology.cities.raster.roof.CompositeRoofRasterizer;
+import org.terasology.cities.window.SimpleWindow;
+import org.terasology.commonworld.Orientation;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.terasology.cities.DefaultBlockType.AIR;
+import static org.terasology.cities.DefaultBlockType.BUILDING_WALL;
+import static org.terasology.cities.DefaultBlockType.WINDOW_GLASS;
+
+/**
+ * Tests the {@link HollowPartRasterizer} class.
+ */
+public class HollowPartRasterizerTest {
+
+    @Test
+    public void testArchProfile() {
+        // springline at 8 - 3 - 2 = 3, crown at 3 + 2 = 5
+        assertArrayEquals(new int[] {0, 4, 5, 5, 5, 5, 4}, HollowPartRasterizer.createArchProfile(3, 8));
+        assertArrayEquals(new int[] {0}, HollowPartRasterizer.createArchProfile(0, 8));
+
+        // the profile is computed once per part
+        BlockAreac layout = new BlockArea(0, 0).setSize(16, 10);
+        HollowBuildingPart part = new HollowBuildingPart(layout, new FlatRoof(layout, layout, 18, 0), 10, 8, 3);
+        assertArrayEquals(HollowPartRasterizer.createArchProfile(3, 8), part.getArchProfile());
+        assertSame(part.getArchProfile(), part.getArchProfile());
+    }
+
+    @Test
+    public void testArcade() {
+        BlockAreac layout = new BlockArea(0, 0).setSize(16, 10);
+        HollowBuildingPart part = new HollowBuildingPart(layout, new FlatRoof(layout, layout, 18, 0), 10, 8, 3);
+        MemoryRasterTarget target = new MemoryRasterTarget(0, 31);
+        new HollowPartRasterizer(CompositeRoofRasterizer.createDefault()).raster(target, part, HeightMaps.constant(5));
+
+        // corners and pillars are solid
+        assertEquals(BUILDING_WALL, target.getBlockType(0, 10, 0));
+        assertEquals(BUILDING_WALL, target.getBlockType(7, 10, 0));
+        assertEquals(BUILDING_WALL, target.getBlockType(15, 10, 9));
+
+        // the arch at offset 2 is open up to 5 blocks above the floor
+        assertEquals(AIR, target.getBlockType(2, 14, 0));
+        assertEquals(BUILDING_WALL, target.getBlockType(2, 15, 0));
+        assertEquals(AIR, target.getBlockType(0, 14, 2));
+    }
+
+    @Test
+    public void testBlocksWrittenOnce() {
+        BlockAreac layout = new BlockArea(0, 0).setSize(16, 10);
+        HollowBuildingPart part = new HollowBuildingPart(layout, new FlatRoof(layout, layout, 18, 0), 10, 8, 3);
+        part.addWindow(new SimpleWindow(Orientation.WEST, new Vector2i(0, 0), 16));
+        part.addDoor(new SimpleDoor(Orientation.SOUTH, new Vector2i(15, 9), 10, 12));
+
+        Map<Vector3i, Integer> writes = new HashMap<>();
+        MemoryRasterTarget target = new MemoryRasterTarget(new BlockRegion(0, 0, 0).setSize(32, 32, 32)) {
+            @Override
+            public void setBlock(int x, int y, int z, BlockType type) {
+                writes.merge(new Vector3i(x, y, z), 1, Integer::sum);
+                super.setBlock(x, y, z, type);
+            }
+
+            @Override
+            public void fillColumn(int x, int z, int bottom, int top, BlockType type) {
+                for (int y = bottom; y < top; y++) {
+                    writes.merge(new Vector3i(x, y, z), 1, Integer::sum);
+                }
+                super.fillColumn(x, z, bottom, top, type);
+            }
+        };
+        new HollowPartRasterizer(CompositeRoofRasterizer.createDefault()).raster(target, part, HeightMaps.constant(5));
+
+        // the corners are shared by the walls along x and z
+        for (Map.Entry<Vector3i, Integer> entry : writes.entrySet()) {
+            Vector3i pos = entry.getKey();
+            assertEquals(1, (int) entry.getValue(), "Block " + pos.x() + "/" + pos.y() + "/" + pos.z());
+        }
+        assertEquals(BUILDING_WALL, target.getBlockType(0, 10, 0));
+        assertEquals(WINDOW_GLASS, target.getBlockType(0, 16, 0));
+        assertEquals(AIR, target.getBlockType(15, 11, 9));
+    }
+}
@@ -0,0 +1,105 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg;
+
+import org.joml.Vector2i;
+import org.junit.jupiter.api.Test;
+import org.terasology.cities.door.Door;
+import org.terasology.cities.door.SimpleDoor;
+import org.terasology.cities.door.WingDoor;
+import org.terasology.cities.model.roof.FlatRoof;
+import org.terasology.cities.raster.MemoryRasterTarget;
+import org.terasology.cities.raster.roof.CompositeRoofRasterizer;
+import org.terasology.cities.window.RectWindow;
+import org.terasology.cities.window.SimpleWindow;
+import org.terasology.cities.window.Window;
+import org.terasology.commonworld.Orientation;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.terasology.cities.DefaultBlockType.AIR;
+import static org.terasology.cities.DefaultBlockType.BUILDING_FLOOR;
+import static org.terasology.cities.DefaultBlockType.BUILDING_WALL;
+import static org.terasology.cities.DefaultBlockType.FENCE;
+import static org.terasology.cities.DefaultBlockType.ROOF_FLAT;
+import static org.terasology.cities.DefaultBlockType.WINDOW_GLASS;
+
+/**
+ * Tests the {@link OpeningCarver} class, mostly through the {@link RectPartRasterizer}.
+ */
+public class OpeningCarverTest {
+
+    private final BlockAreac layout = new BlockArea(0, 0).setSize(8, 6);
+
+    @Test
+    public void testOpeningsInWalls() {
+        RectBuildingPart part = new RectBuildingPart(layout, new FlatRoof(layout, layout, 5, 0), 1, 4);
+        part.addDoor(new SimpleDoor(Orientation.NORTH, new Vector2i(3, 0), 1, 3));
+        part.addWindow(new SimpleWindow(Orientation.NORTH, new Vector2i(3, 0), 4));
+        part.addDoor(new WingDoor(Orientation.SOUTH, new BlockArea(2, 5).setSize(2, 1), 1, 4));
+        part.addWindow(new RectWindow(Orientation.EAST, new BlockArea(7, 2).setSize(1, 2), 2, 4, FENCE));
+
+        MemoryRasterTarget target = new MemoryRasterTarget(new BlockRegion(0, 0, 0).setSize(8, 6, 6));
+        new RectPartRasterizer(CompositeRoofRasterizer.createDefault()).raster(target, part, HeightMaps.constant(0));
+
+        assertEquals(Arrays.asList(BUILDING_FLOOR, AIR, AIR, BUILDING_WALL, WINDOW_GLASS, ROOF_FLAT), target.getColumn(3, 0));
+        assertEquals(Arrays.asList(BUILDING_FLOOR, AIR, AIR, AIR, BUILDING_WALL, ROOF_FLAT), target.getColumn(2, 5));
+        assertEquals(Arrays.asList(BUILDING_FLOOR, BUILDING_WALL, FENCE, FENCE, BUILDING_WALL, ROOF_FLAT), target.getColumn(7, 3));
+        assertEquals(Arrays.asList(BUILDING_FLOOR, BUILDING_WALL, BUILDING_WALL, BUILDING_WALL, BUILDING_WALL, ROOF_FLAT),
+                target.getColumn(4, 0));
+    }
+
+    @Test
+    public void testOpeningsOutsideOfWalls() {
+        RectBuildingPart part = new RectBuildingPart(layout, new FlatRoof(layout, layout, 5, 0), 1, 4);
+        part.addWindow(new SimpleWindow(Orientation.NORTH, new Vector2i(3, 2), 3));
+
+        MemoryRasterTarget target = new MemoryRasterTarget(new BlockRegion(0, 0, 0).setSize(8, 6, 6));
+        new RectPartRasterizer(CompositeRoofRasterizer.createDefault()).raster(target, part, HeightMaps.constant(0));
+
+        assertEquals(Arrays.asList(BUILDING_FLOOR, AIR, AIR, WINDOW_GLASS, AIR, ROOF_FLAT), target.getColumn(3, 2));
+    }
+
+    @Test
+    public void testOpeningsConvertedOnce() {
+        RectBuildingPart part = new RectBuildingPart(layout, new FlatRoof(layout, layout, 5, 0), 1, 4);
+        part.addDoor(new SimpleDoor(Orientation.NORTH, new Vector2i(3, 0), 1, 3));
+
+        OpeningCarver.Openings openings = part.getOpenings();
+        assertSame(openings, part.getOpenings());
+
+        // carvers for different targets share the spans, but not the written flags
+        MemoryRasterTarget first = new MemoryRasterTarget(new BlockRegion(0, 0, 0).setSize(8, 6, 6));
+        MemoryRasterTarget second = new MemoryRasterTarget(new BlockRegion(0, 0, 0).setSize(8, 6, 6));
+        RectPartRasterizer rasterizer = new RectPartRasterizer(CompositeRoofRasterizer.createDefault());
+        rasterizer.raster(first, part, HeightMaps.constant(0));
+        rasterizer.raster(second, part, HeightMaps.constant(0));
+        assertSame(openings, part.getOpenings());
+        assertEquals(first.getColumn(3, 0), second.getColumn(3, 0));
+
+        part.addWindow(new SimpleWindow(Orientation.NORTH, new Vector2i(3, 0), 4));
+        assertNotSame(openings, part.getOpenings());
+    }
+
+    @Test
+    public void testUnknownOpeningsSkipped() {
+        RectBuildingPart part = new RectBuildingPart(layout, new FlatRoof(layout, layout, 5, 0), 1, 4);
+        part.addDoor(new Door() { });
+        part.addWindow(new Window() { });
+        part.addWindow(new SimpleWindow(Orientation.NORTH, new Vector2i(3, 0), 4));
+
+        MemoryRasterTarget target = new MemoryRasterTarget(new BlockRegion(0, 0, 0).setSize(8, 6, 6));
+        new RectPartRasterizer(CompositeRoofRasterizer.createDefault()).raster(target, part, HeightMaps.constant(0));
+
+        assertEquals(Arrays.asList(BUILDING_FLOOR, BUILDING_WALL, BUILDING_WALL, BUILDING_WALL, WINDOW_GLASS, ROOF_FLAT),
+                target.getColumn(3, 0));
+    }
+}
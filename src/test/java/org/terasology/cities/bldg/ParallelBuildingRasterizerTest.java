@@ -0,0 +1,265 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.terasology.cities.BlockType;
+import org.terasology.cities.model.roof.RectangularRoof;
+import org.terasology.cities.raster.MemoryRasterTarget;
+import org.terasology.cities.raster.RasterTarget;
+import org.terasology.commonworld.Orientation;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.joml.geom.Circlef;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.terasology.cities.DefaultBlockType.BUILDING_FLOOR;
+import static org.terasology.cities.DefaultBlockType.BUILDING_WALL;
+import static org.terasology.cities.DefaultBlockType.ROOF_FLAT;
+
+/**
+ * Tests the {@link ParallelBuildingRasterizer} class.
+ */
+public class ParallelBuildingRasterizerTest {
+
+    private final HeightMap heightMap = HeightMaps.constant(3);
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    private final List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+
+    private final StubRasterizer<RectBuildingPart> rectRasterizer = new StubRasterizer<>(RectBuildingPart.class, BUILDING_WALL);
+    private final StubRasterizer<StaircaseBuildingPart> stairRasterizer = new StubRasterizer<>(StaircaseBuildingPart.class, BUILDING_FLOOR);
+    private final StubRasterizer<AbstractBuildingPart> fallbackRasterizer = new StubRasterizer<>(AbstractBuildingPart.class, ROOF_FLAT);
+
+    private final RectBuildingPart hall = rectPart(new BlockArea(10, 10).setSize(40, 20), 5, 4);
+    private final StaircaseBuildingPart stairs = new StaircaseBuildingPart(new BlockArea(40, 15).setSize(10, 30), Orientation.NORTH,
+            new RectangularRoof(new BlockArea(40, 15).setSize(10, 30), new BlockArea(40, 15).setSize(10, 30), 12), 5, 7);
+    private final RoundBuildingPart tower = new RoundBuildingPart(new Circlef(70, 40, 5),
+            new RectangularRoof(new BlockArea(65, 35, 75, 45), new BlockArea(65, 35, 75, 45), 15), 5, 10);
+
+    @AfterEach
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSameAsSequential() {
+        List<Building> buildings = createBuildings();
+        List<MemoryRasterTarget> targets = createTargets(0);
+
+        ParallelBuildingRasterizer rasterizer = new ParallelBuildingRasterizer(pool, createLogger());
+        rasterizer.register(rectRasterizer);
+        rasterizer.register(stairRasterizer);
+        rasterizer.register(fallbackRasterizer);
+        rasterizer.raster(targets, buildings, heightMap);
+
+        List<MemoryRasterTarget> expected = createTargets(0);
+        for (MemoryRasterTarget target : expected) {
+            for (Building building : buildings) {
+                for (BuildingPart part : building.getParts()) {
+                    if (intersects(part.getBoundingRegion(), target.getAffectedArea())) {
+                        rasterSequential(target, part);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < targets.size(); i++) {
+            assertSameBlocks(expected.get(i), targets.get(i));
+        }
+        assertEquals(0, warnings.size());
+    }
+
+    @Test
+    public void testEveryPartOncePerTarget() {
+        List<MemoryRasterTarget> targets = createTargets(0);
+        ParallelBuildingRasterizer rasterizer = new ParallelBuildingRasterizer(pool, createLogger());
+        rasterizer.register(rectRasterizer);
+        rasterizer.register(stairRasterizer);
+        rasterizer.register(fallbackRasterizer);
+        rasterizer.raster(targets, createBuildings(), heightMap);
+
+        // the hall covers two chunks and the stairs four, the grid index must not return them twice
+        for (MemoryRasterTarget target : targets) {
+            List<BuildingPart> expected = new ArrayList<>();
+            for (BuildingPart part : new BuildingPart[] {hall, stairs, tower}) {
+                if (intersects(part.getBoundingRegion(), target.getAffectedArea())) {
+                    expected.add(part);
+                }
+            }
+            List<BuildingPart> actual = new ArrayList<>();
+            actual.addAll(rectRasterizer.getCalls(target));
+            actual.addAll(stairRasterizer.getCalls(target));
+            actual.addAll(fallbackRasterizer.getCalls(target));
+            assertEquals(expected.size(), actual.size(), "Target at " + target.getAffectedArea().minX() + "/" + target.getAffectedArea().minY());
+            assertTrue(actual.containsAll(expected));
+        }
+
+        // the most specific rasterizer is used for sub-classes
+        assertEquals(Collections.singletonList(stairs), stairRasterizer.getCalls(targets.get(1)));
+        assertEquals(Collections.singletonList(hall), rectRasterizer.getCalls(targets.get(1)));
+        assertEquals(Collections.singletonList(tower), fallbackRasterizer.getCalls(targets.get(5)));
+    }
+
+    @Test
+    public void testTargetsAbovePartsSkipped() {
+        List<MemoryRasterTarget> targets = createTargets(64);
+        ParallelBuildingRasterizer rasterizer = new ParallelBuildingRasterizer(pool, createLogger());
+        rasterizer.register(rectRasterizer);
+        rasterizer.register(stairRasterizer);
+        rasterizer.register(fallbackRasterizer);
+        rasterizer.raster(targets, createBuildings(), heightMap);
+
+        for (MemoryRasterTarget target : targets) {
+            assertEquals(0, rectRasterizer.getCalls(target).size());
+            assertEquals(0, stairRasterizer.getCalls(target).size());
+            assertEquals(0, fallbackRasterizer.getCalls(target).size());
+        }
+    }
+
+    @Test
+    public void testMissingRasterizer() {
+        List<MemoryRasterTarget> targets = createTargets(0);
+        ParallelBuildingRasterizer rasterizer = new ParallelBuildingRasterizer(pool, createLogger());
+        rasterizer.register(rectRasterizer);
+
+        DefaultBuilding building = new DefaultBuilding(Orientation.NORTH);
+        BlockAreac layout = new BlockArea(5, 5).setSize(60, 50);
+        building.addPart(new HollowBuildingPart(layout, new RectangularRoof(layout, layout, 10), 5, 5, 2));
+        building.addPart(tower);
+        rasterizer.raster(targets, Collections.singletonList(building), heightMap);
+
+        // one warning per part class, even though the hollow part covers all targets
+        assertEquals(2, warnings.size());
+        for (MemoryRasterTarget target : targets) {
+            assertEquals(0, rectRasterizer.getCalls(target).size());
+        }
+    }
+
+    @Test
+    public void testDefaultRasterizers() {
+        List<MemoryRasterTarget> targets = createTargets(0);
+        ParallelBuildingRasterizer rasterizer = ParallelBuildingRasterizer.createDefault(pool);
+        rasterizer.raster(targets, createBuildings(), heightMap);
+
+        // walls of the hall, the stairs (a rect part) and the tower
+        assertEquals(BUILDING_WALL, targets.get(0).getBlockType(10, 6, 10));
+        assertEquals(BUILDING_WALL, targets.get(4).getBlockType(49, 6, 44));
+        assertEquals(BUILDING_WALL, targets.get(5).getBlockType(75, 6, 40));
+    }
+
+    private List<Building> createBuildings() {
+        DefaultBuilding first = new DefaultBuilding(Orientation.NORTH);
+        first.addPart(hall);
+        first.addPart(stairs);
+        DefaultBuilding second = new DefaultBuilding(Orientation.EAST);
+        second.addPart(tower);
+        List<Building> buildings = new ArrayList<>();
+        buildings.add(first);
+        buildings.add(second);
+        return buildings;
+    }
+
+    /**
+     * @return 3x2 chunk-sized targets in x-major order
+     */
+    private static List<MemoryRasterTarget> createTargets(int minY) {
+        List<MemoryRasterTarget> targets = new ArrayList<>();
+        for (int cz = 0; cz < 2; cz++) {
+            for (int cx = 0; cx < 3; cx++) {
+                targets.add(new MemoryRasterTarget(new BlockRegion(cx * 32, minY, cz * 32).setSize(32, 64, 32)));
+            }
+        }
+        return targets;
+    }
+
+    private void rasterSequential(RasterTarget target, BuildingPart part) {
+        if (part instanceof StaircaseBuildingPart) {
+            new StubRasterizer<>(StaircaseBuildingPart.class, BUILDING_FLOOR).raster(target, (StaircaseBuildingPart) part, heightMap);
+        } else if (part instanceof RectBuildingPart) {
+            new StubRasterizer<>(RectBuildingPart.class, BUILDING_WALL).raster(target, (RectBuildingPart) part, heightMap);
+        } else {
+            new StubRasterizer<>(AbstractBuildingPart.class, ROOF_FLAT).raster(target, (AbstractBuildingPart) part, heightMap);
+        }
+    }
+
+    private static RectBuildingPart rectPart(BlockAreac layout, int baseHeight, int wallHeight) {
+        return new RectBuildingPart(layout, new RectangularRoof(layout, layout, baseHeight + wallHeight), baseHeight, wallHeight);
+    }
+
+    private static boolean intersects(BlockRegionc region, BlockAreac area) {
+        return region.minX() <= area.maxX() && region.maxX() >= area.minX()
+            && region.minZ() <= area.maxY() && region.maxZ() >= area.minY();
+    }
+
+    private static void assertSameBlocks(MemoryRasterTarget expected, MemoryRasterTarget actual) {
+        BlockAreac area = expected.getAffectedArea();
+        for (int z = area.minY(); z <= area.maxY(); z++) {
+            for (int x = area.minX(); x <= area.maxX(); x++) {
+                assertEquals(expected.getColumn(x, z), actual.getColumn(x, z), "Column " + x + "/" + z);
+            }
+        }
+    }
+
+    private Logger createLogger() {
+        return (Logger) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Logger.class}, (proxy, method, args) -> {
+            if (method.getName().equals("warn")) {
+                warnings.add(String.valueOf(args[0]));
+            }
+            return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+        });
+    }
+
+    /**
+     * Fills the bounding region of a part and records the parts per target.
+     */
+    private static final class StubRasterizer<T extends BuildingPart> implements BuildingPartRasterizer<T> {
+
+        private final Class<T> targetClass;
+        private final BlockType type;
+        private final Map<RasterTarget, List<BuildingPart>> calls = Collections.synchronizedMap(new IdentityHashMap<>());
+
+        StubRasterizer(Class<T> targetClass, BlockType type) {
+            this.targetClass = targetClass;
+            this.type = type;
+        }
+
+        @Override
+        public Class<T> getTargetClass() {
+            return targetClass;
+        }
+
+        @Override
+        public void raster(RasterTarget target, T part, HeightMap heightMap) {
+            calls.computeIfAbsent(target, t -> new ArrayList<>()).add(part);
+
+            BlockRegionc region = part.getBoundingRegion();
+            BlockAreac area = target.getAffectedArea();
+            for (int z = Math.max(region.minZ(), area.minY()); z <= Math.min(region.maxZ(), area.maxY()); z++) {
+                for (int x = Math.max(region.minX(), area.minX()); x <= Math.min(region.maxX(), area.maxX()); x++) {
+                    target.fillColumn(x, z, region.minY(), region.maxY() + 1, type);
+                }
+            }
+        }
+
+        List<BuildingPart> getCalls(RasterTarget target) {
+            return calls.getOrDefault(target, Collections.emptyList());
+        }
+    }
+}
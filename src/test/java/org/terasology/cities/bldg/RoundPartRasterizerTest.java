@@ -0,0 +1,115 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg;
+
+import org.joml.Vector2i;
+import org.junit.jupiter.api.Test;
+import org.terasology.cities.model.roof.ConicRoof;
+import org.terasology.cities.raster.MemoryRasterTarget;
+import org.terasology.cities.raster.Pen;
+import org.terasology.cities.raster.RasterUtil;
+import org.terasology.cities.raster.roof.CompositeRoofRasterizer;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.joml.geom.Circlef;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.terasology.cities.DefaultBlockType.AIR;
+import static org.terasology.cities.DefaultBlockType.BUILDING_FLOOR;
+import static org.terasology.cities.DefaultBlockType.BUILDING_WALL;
+
+/**
+ * Tests the {@link RoundPartRasterizer} class.
+ */
+public class RoundPartRasterizerTest {
+
+    private static final int BASE_HEIGHT = 10;
+    private static final int WALL_HEIGHT = 5;
+
+    private final HeightMap heightMap = HeightMaps.constant(5);
+    private final RoundPartRasterizer rasterizer = new RoundPartRasterizer(CompositeRoofRasterizer.createDefault());
+
+    @Test
+    public void testFloorAndWalls() {
+        RoundBuildingPart part = createPart(20, 20, 6);
+        MemoryRasterTarget target = new MemoryRasterTarget(0, 31);
+        rasterizer.raster(target, part, heightMap);
+
+        Set<Vector2i> disc = new HashSet<>();
+        RasterUtil.fillCircle(recorder(disc), 20, 20, 6);
+        Set<Vector2i> ring = new HashSet<>();
+        RasterUtil.drawCircle(recorder(ring), 20, 20, 6);
+        assertTrue(disc.containsAll(ring));
+
+        BlockAreac area = target.getAffectedArea();
+        for (int z = area.minY(); z <= area.maxY(); z++) {
+            for (int x = area.minX(); x <= area.maxX(); x++) {
+                Vector2i pos = new Vector2i(x, z);
+                String msg = "Column " + x + "/" + z;
+                if (ring.contains(pos)) {
+                    assertEquals(BUILDING_FLOOR, target.getBlockType(x, BASE_HEIGHT - 1, z), msg);
+                    for (int y = BASE_HEIGHT; y < BASE_HEIGHT + WALL_HEIGHT; y++) {
+                        assertEquals(BUILDING_WALL, target.getBlockType(x, y, z), msg);
+                    }
+                } else if (disc.contains(pos)) {
+                    assertEquals(BUILDING_FLOOR, target.getBlockType(x, BASE_HEIGHT - 1, z), msg);
+                    assertEquals(AIR, target.getBlockType(x, BASE_HEIGHT, z), msg);
+                    assertEquals(AIR, target.getBlockType(x, BASE_HEIGHT + WALL_HEIGHT - 1, z), msg);
+                } else {
+                    assertEquals(AIR, target.getBlockType(x, BASE_HEIGHT - 1, z), msg);
+                    assertEquals(AIR, target.getBlockType(x, BASE_HEIGHT, z), msg);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testChunkedSameAsWhole() {
+        // the circle is centered on a chunk corner
+        RoundBuildingPart part = createPart(32, 32, 9);
+        MemoryRasterTarget whole = new MemoryRasterTarget(new BlockRegion(0, 0, 0).setSize(64, 32, 64));
+        rasterizer.raster(whole, part, heightMap);
+
+        for (int cz = 0; cz < 2; cz++) {
+            for (int cx = 0; cx < 2; cx++) {
+                MemoryRasterTarget chunk = new MemoryRasterTarget(new BlockRegion(cx * 32, 0, cz * 32).setSize(32, 32, 32));
+                rasterizer.raster(chunk, part, heightMap);
+
+                BlockAreac area = chunk.getAffectedArea();
+                for (int z = area.minY(); z <= area.maxY(); z++) {
+                    for (int x = area.minX(); x <= area.maxX(); x++) {
+                        assertEquals(whole.getColumn(x, z), chunk.getColumn(x, z), "Column " + x + "/" + z);
+                    }
+                }
+            }
+        }
+    }
+
+    private static RoundBuildingPart createPart(int cx, int cz, int rad) {
+        ConicRoof roof = new ConicRoof(new Vector2i(cx, cz), rad + 1, BASE_HEIGHT + WALL_HEIGHT, 1);
+        return new RoundBuildingPart(new Circlef(cx, cz, rad), roof, BASE_HEIGHT, WALL_HEIGHT);
+    }
+
+    private static Pen recorder(Set<Vector2i> points) {
+        BlockAreac area = new BlockArea(-100, -100, 100, 100);
+        return new Pen() {
+            @Override
+            public void draw(int x, int z) {
+                points.add(new Vector2i(x, z));
+            }
+
+            @Override
+            public BlockAreac getTargetArea() {
+                return area;
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.bldg.gen;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.cities.bldg.DefaultBuilding;
+import org.terasology.cities.parcels.Parcel;
+import org.terasology.commonworld.Orientation;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the {@link CachingBuildingGenerator} class.
+ */
+public class CachingBuildingGeneratorTest {
+
+    private final HeightMap hm = HeightMaps.constant(10);
+
+    private int generated;
+    private final BuildingGenerator counting = (parcel, heightMap, seed) -> {
+        generated++;
+        return new DefaultBuilding(parcel.getOrientation());
+    };
+
+    @Test
+    public void testHitsAndMisses() {
+        CachingBuildingGenerator cache = new CachingBuildingGenerator(counting, 10, 100);
+
+        assertSame(cache.generate(parcel(0, 0, Orientation.NORTH), hm, 0), cache.generate(parcel(0, 0, Orientation.NORTH), hm, 0));
+        assertNotSame(cache.generate(parcel(0, 0, Orientation.NORTH), hm, 0), cache.generate(parcel(0, 0, Orientation.EAST), hm, 0));
+        assertNotSame(cache.generate(parcel(0, 0, Orientation.NORTH), hm, 0), cache.generate(parcel(0, 0, Orientation.NORTH), hm, 1));
+
+        assertEquals(3, generated);
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        CachingBuildingGenerator cache = new CachingBuildingGenerator(counting, 2, 100);
+
+        cache.generate(parcel(0, 0, Orientation.NORTH), hm, 0);
+        cache.generate(parcel(20, 0, Orientation.NORTH), hm, 0);
+        cache.generate(parcel(0, 0, Orientation.NORTH), hm, 0);
+        cache.generate(parcel(40, 0, Orientation.NORTH), hm, 0);    // evicts (20, 0)
+
+        cache.generate(parcel(0, 0, Orientation.NORTH), hm, 0);
+        assertEquals(3, generated);
+        cache.generate(parcel(20, 0, Orientation.NORTH), hm, 0);
+        assertEquals(4, generated);
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testWeightBound() {
+        // every building without parts has a weight of 1
+        CachingBuildingGenerator cache = new CachingBuildingGenerator(counting, 10, 3);
+        for (int i = 0; i < 5; i++) {
+            cache.generate(parcel(i * 20, 0, Orientation.NORTH), hm, 0);
+        }
+
+        assertEquals(3, cache.size());
+        assertEquals(3, cache.getWeight());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    private static Parcel parcel(int x, int z, Orientation orientation) {
+        BlockAreac shape = new BlockArea(x, z).setSize(10, 12);
+        return new Parcel() {
+
+            @Override
+            public BlockAreac getShape() {
+                return shape;
+            }
+
+            @Override
+            public Orientation getOrientation() {
+                return orientation;
+            }
+        };
+    }
+}
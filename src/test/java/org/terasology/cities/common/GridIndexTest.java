@@ -0,0 +1,69 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.common;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the {@link GridIndex} class.
+ */
+public class GridIndexTest {
+
+    @Test
+    public void testQueryMatchesBruteForce() {
+        Random random = new Random(1234);
+        GridIndex<BlockAreac> index = new GridIndex<>(16);
+        List<BlockAreac> all = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            BlockAreac area = randomArea(random, 40);
+            index.add(area, area);
+            all.add(area);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            BlockAreac query = randomArea(random, 70);
+            List<BlockAreac> expected = new ArrayList<>();
+            for (BlockAreac area : all) {
+                if (area.intersectsBlockArea(query)) {
+                    expected.add(area);
+                }
+            }
+
+            // the list is in insertion order and contains no duplicates
+            assertEquals(expected, index.query(query));
+
+            Set<BlockAreac> visited = new HashSet<>();
+            index.query(query, area -> assertEquals(true, visited.add(area)));
+            assertEquals(new HashSet<>(expected), visited);
+        }
+    }
+
+    @Test
+    public void testNegativeCoordinates() {
+        GridIndex<String> index = new GridIndex<>();
+        index.add("a", new BlockArea(-33, -1, -32, 0));
+        index.add("b", new BlockArea(-1, -1, -1, -1));
+
+        assertEquals(List.of("a"), index.query(new BlockArea(-64, -32).setSize(32, 32)));
+        assertEquals(List.of("a", "b"), index.query(new BlockArea(-32, -32).setSize(32, 32)));
+        assertEquals(List.of("a"), index.query(new BlockArea(-40, 0).setSize(32, 32)));
+        assertEquals(List.of(), index.query(new BlockArea(0, 0).setSize(32, 32)));
+    }
+
+    private static BlockAreac randomArea(Random random, int maxSize) {
+        int x = random.nextInt(200) - 100;
+        int z = random.nextInt(200) - 100;
+        return new BlockArea(x, z).setSize(1 + random.nextInt(maxSize), 1 + random.nextInt(maxSize));
+    }
+}
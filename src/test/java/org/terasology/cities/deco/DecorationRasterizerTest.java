@@ -0,0 +1,103 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.deco;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+import org.terasology.cities.bldg.RectBuildingPart;
+import org.terasology.cities.model.roof.FlatRoof;
+import org.terasology.cities.raster.MemoryRasterTarget;
+import org.terasology.commonworld.Orientation;
+import org.terasology.engine.math.Side;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.terasology.cities.DefaultBlockType.AIR;
+import static org.terasology.cities.DefaultBlockType.BARREL;
+import static org.terasology.cities.DefaultBlockType.LADDER;
+import static org.terasology.cities.DefaultBlockType.PILLAR_BASE;
+import static org.terasology.cities.DefaultBlockType.PILLAR_MIDDLE;
+import static org.terasology.cities.DefaultBlockType.PILLAR_TOP;
+
+/**
+ * Tests the {@link DecorationRasterizer} class and the chunk column query of building parts.
+ */
+public class DecorationRasterizerTest {
+
+    private final BlockAreac layout = new BlockArea(20, 0).setSize(30, 10);
+    private final RectBuildingPart part = new RectBuildingPart(layout, new FlatRoof(layout, layout, 10, 0), 1, 8);
+
+    private final SingleBlockDecoration barrel1 = new SingleBlockDecoration(BARREL, new Vector3i(25, 1, 3), Side.FRONT);
+    private final SingleBlockDecoration barrel2 = new SingleBlockDecoration(BARREL, new Vector3i(40, 1, 3), Side.FRONT);
+    private final Pillar pillar = new Pillar(new Vector3i(35, 1, 5), 5);
+    private final Ladder ladder = new Ladder(new Vector3i(21, 1, 1), Orientation.NORTH, 3);
+
+    @Test
+    public void testChunkQuery() {
+        SingleBlockDecoration barrel3 = new SingleBlockDecoration(BARREL, new Vector3i(26, 1, 40), Side.FRONT);
+        part.addDecoration(barrel1);
+        part.addDecoration(barrel3);
+        part.addDecoration(barrel2);
+        part.addDecoration(pillar);
+        part.addDecoration(ladder);
+
+        // single chunk columns in x and z direction
+        assertEquals(Arrays.asList(barrel1, ladder), part.getDecorations(new BlockArea(0, 0).setSize(32, 32)));
+        assertEquals(Collections.singletonList(barrel3), part.getDecorations(new BlockArea(0, 32).setSize(32, 32)));
+        assertEquals(Arrays.asList(barrel2, pillar), part.getDecorations(new BlockArea(32, 0).setSize(32, 32)));
+
+        // areas across chunk borders keep the insertion order
+        assertEquals(Arrays.asList(barrel2, pillar), part.getDecorations(new BlockArea(30, 0).setSize(32, 32)));
+        assertEquals(Arrays.asList(barrel1, barrel3, barrel2, pillar, ladder), part.getDecorations(new BlockArea(20, 0).setSize(30, 50)));
+        assertEquals(Arrays.asList(barrel1, barrel3, barrel2, pillar, ladder), part.getDecorations());
+    }
+
+    @Test
+    public void testColumns() {
+        part.addDecoration(barrel1);
+        part.addDecoration(pillar);
+        part.addDecoration(ladder);
+
+        MemoryRasterTarget target = new MemoryRasterTarget(new BlockRegion(16, 0, 0).setSize(24, 5, 16));
+        new DecorationRasterizer().raster(target, part);
+
+        assertEquals(Arrays.asList(AIR, BARREL, AIR, AIR, AIR), target.getColumn(25, 3));
+        assertEquals(Arrays.asList(AIR, LADDER, LADDER, LADDER, AIR), target.getColumn(21, 1));
+
+        // the pillar top is above the target
+        assertEquals(Arrays.asList(AIR, PILLAR_BASE, PILLAR_MIDDLE, PILLAR_MIDDLE, PILLAR_MIDDLE), target.getColumn(35, 5));
+        assertEquals(PILLAR_TOP, pillar.getBlockTypes().get(4));
+    }
+
+    @Test
+    public void testAddAfterQuery() {
+        part.addDecoration(barrel2);
+        assertEquals(Collections.emptyList(), part.getDecorations(new BlockArea(0, 0).setSize(32, 32)));
+
+        part.addDecoration(barrel1);
+        assertEquals(Collections.singletonList(barrel1), part.getDecorations(new BlockArea(0, 0).setSize(32, 32)));
+        assertEquals(Collections.singletonList(barrel2), part.getDecorations(new BlockArea(40, 3)));
+    }
+
+    @Test
+    public void testUnknownType() {
+        Decoration custom = new Decoration() { };
+        part.addDecoration(pillar);
+        part.addDecoration(custom);
+        part.addDecoration(barrel1);
+
+        // the position is unknown, so the decoration is part of every area
+        assertEquals(Arrays.asList(custom, barrel1), part.getDecorations(new BlockArea(0, 0).setSize(32, 32)));
+        assertEquals(Arrays.asList(pillar, custom), part.getDecorations(new BlockArea(30, 0).setSize(32, 32)));
+
+        MemoryRasterTarget target = new MemoryRasterTarget(new BlockRegion(16, 0, 0).setSize(24, 5, 16));
+        new DecorationRasterizer().raster(target, part);
+        assertEquals(Arrays.asList(AIR, BARREL, AIR, AIR, AIR), target.getColumn(25, 3));
+    }
+}
@@ -0,0 +1,176 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.model;
+
+import org.joml.Vector2i;
+import org.joml.Vector2ic;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.Test;
+import org.terasology.cities.bldg.BuildingPart;
+import org.terasology.cities.bldg.DefaultBuilding;
+import org.terasology.cities.bldg.SimpleRoundHouse;
+import org.terasology.cities.bldg.SimpleTower;
+import org.terasology.cities.bldg.gen.BuildingGenerator;
+import org.terasology.cities.bldg.gen.CommercialBuildingGenerator;
+import org.terasology.cities.bldg.gen.RectHouseGenerator;
+import org.terasology.cities.bldg.gen.SimpleChurchGenerator;
+import org.terasology.cities.bldg.gen.TownHallGenerator;
+import org.terasology.cities.deco.ColumnDecoration;
+import org.terasology.cities.deco.Decoration;
+import org.terasology.cities.deco.SingleBlockDecoration;
+import org.terasology.cities.door.Door;
+import org.terasology.cities.door.SimpleDoor;
+import org.terasology.cities.door.WingDoor;
+import org.terasology.cities.model.roof.ConicRoof;
+import org.terasology.cities.model.roof.DomeRoof;
+import org.terasology.cities.model.roof.FlatRoof;
+import org.terasology.cities.model.roof.HipRoof;
+import org.terasology.cities.model.roof.PentRoof;
+import org.terasology.cities.model.roof.RectangularRoof;
+import org.terasology.cities.model.roof.Roof;
+import org.terasology.cities.model.roof.SaddleRoof;
+import org.terasology.cities.parcels.Parcel;
+import org.terasology.cities.window.RectWindow;
+import org.terasology.cities.window.SimpleWindow;
+import org.terasology.cities.window.Window;
+import org.terasology.commonworld.Orientation;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.joml.geom.Circlef;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the {@link SettlementModel} class.
+ */
+public class SettlementModelTest {
+
+    @Test
+    public void testRoundTrip() {
+        HeightMap hm = HeightMaps.constant(10);
+        List<DefaultBuilding> buildings = new ArrayList<>();
+        List<BuildingGenerator> generators = Arrays.asList(new RectHouseGenerator(), new SimpleChurchGenerator(),
+                new CommercialBuildingGenerator(), new TownHallGenerator());
+        for (int i = 0; i < generators.size(); i++) {
+            Parcel parcel = parcel(new BlockArea(i * 50, 0).setSize(40, 30), Orientation.values()[i * 2]);
+            buildings.add((DefaultBuilding) generators.get(i).generate(parcel, hm, i));
+        }
+        buildings.add(new SimpleTower(Orientation.EAST, new BlockArea(0, 100).setSize(7, 9), 12, 20));
+        buildings.add(new SimpleRoundHouse(Orientation.SOUTH, new Vector2i(50, 100), 5, 11, 4));
+        buildings.add(new DefaultBuilding(Orientation.WEST));
+
+        SettlementModel model = SettlementModel.of(buildings);
+        assertEquals(buildings.size(), model.getBuildingCount());
+
+        List<DefaultBuilding> copies = model.toBuildings();
+        for (int i = 0; i < buildings.size(); i++) {
+            DefaultBuilding orig = buildings.get(i);
+            DefaultBuilding copy = copies.get(i);
+            assertEquals(orig.getOrientation(), copy.getOrientation());
+            assertEquals(orig.getBoundingRegion(), copy.getBoundingRegion());
+            assertEquals(orig.getBoundingRegion(), model.getBoundingRegion(i, new BlockRegion(BlockRegion.INVALID)));
+            assertEquals(describe(orig), describe(copy));
+        }
+    }
+
+    private static List<String> describe(DefaultBuilding building) {
+        List<String> result = new ArrayList<>();
+        for (BuildingPart part : building.getParts()) {
+            result.add(part.getClass().getSimpleName() + " " + part.getBoundingRegion() + " " + part.getBaseHeight()
+                    + " " + part.getWallHeight());
+            result.add(describe(part.getRoof()));
+            part.getWindows().forEach(w -> result.add(describe(w)));
+            part.getDoors().forEach(d -> result.add(describe(d)));
+            for (Decoration deco : part.getDecorations()) {
+                if (deco instanceof SingleBlockDecoration) {
+                    SingleBlockDecoration single = (SingleBlockDecoration) deco;
+                    result.add(format(single.getPos()) + " " + single.getType() + " " + single.getSide());
+                } else {
+                    ColumnDecoration column = (ColumnDecoration) deco;
+                    result.add(format(column.getBasePos()) + " " + column.getBlockTypes() + " " + column.getSides());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String describe(Roof roof) {
+        String text = roof.getClass().getSimpleName() + " " + roof.getBoundingRegion();
+        if (roof instanceof RectangularRoof) {
+            RectangularRoof rect = (RectangularRoof) roof;
+            text += " " + format(rect.getBaseArea()) + " " + format(rect.getArea()) + " " + rect.getBaseHeight();
+        }
+        if (roof instanceof HipRoof) {
+            text += " " + ((HipRoof) roof).getPitch() + " " + ((HipRoof) roof).getMaxHeight();
+        } else if (roof instanceof SaddleRoof) {
+            text += " " + ((SaddleRoof) roof).getPitch() + " " + ((SaddleRoof) roof).getOrientation();
+        } else if (roof instanceof PentRoof) {
+            text += " " + ((PentRoof) roof).getPitch() + " " + ((PentRoof) roof).getOrientation();
+        } else if (roof instanceof DomeRoof) {
+            text += " " + ((DomeRoof) roof).getHeight();
+        } else if (roof instanceof FlatRoof) {
+            text += " " + ((FlatRoof) roof).getBorderHeight(0, 0);
+        } else if (roof instanceof ConicRoof) {
+            ConicRoof conic = (ConicRoof) roof;
+            Circlef area = conic.getArea();
+            text += " " + area.x + "/" + area.y + "/" + area.r + " " + conic.getBaseHeight() + " " + conic.getPitch();
+        }
+        return text;
+    }
+
+    private static String describe(Window window) {
+        if (window instanceof SimpleWindow) {
+            SimpleWindow simple = (SimpleWindow) window;
+            return "SimpleWindow " + simple.getOrientation() + " " + format(simple.getPos()) + " " + simple.getHeight();
+        }
+        RectWindow rect = (RectWindow) window;
+        return "RectWindow " + rect.getOrientation() + " " + format(rect.getArea()) + " " + rect.getBaseHeight()
+                + " " + rect.getTopHeight() + " " + rect.getBlockType();
+    }
+
+    private static String describe(Door door) {
+        if (door instanceof SimpleDoor) {
+            SimpleDoor simple = (SimpleDoor) door;
+            return "SimpleDoor " + simple.getOrientation() + " " + format(simple.getPos()) + " " + simple.getBaseHeight()
+                    + " " + simple.getTopHeight();
+        }
+        WingDoor wing = (WingDoor) door;
+        return "WingDoor " + wing.getOrientation() + " " + format(wing.getArea()) + " " + wing.getBaseHeight()
+                + " " + wing.getTopHeight();
+    }
+
+    private static String format(Vector2ic pos) {
+        return pos.x() + "/" + pos.y();
+    }
+
+    private static String format(BlockAreac area) {
+        return area.minX() + "/" + area.minY() + "-" + area.maxX() + "/" + area.maxY();
+    }
+
+    private static String format(Vector3ic pos) {
+        return pos.x() + "/" + pos.y() + "/" + pos.z();
+    }
+
+    private static Parcel parcel(BlockAreac shape, Orientation orientation) {
+        return new Parcel() {
+
+            @Override
+            public BlockAreac getShape() {
+                return shape;
+            }
+
+            @Override
+            public Orientation getOrientation() {
+                return orientation;
+            }
+        };
+    }
+}
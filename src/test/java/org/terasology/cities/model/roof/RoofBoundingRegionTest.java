@@ -0,0 +1,70 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.model.roof;
+
+import org.joml.Vector2i;
+import org.junit.jupiter.api.Test;
+import org.terasology.commonworld.Orientation;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the bounding regions of the different {@link Roof} types.
+ */
+public class RoofBoundingRegionTest {
+
+    private final BlockAreac base = new BlockArea(0, 0).setSize(10, 6);
+    private final BlockAreac eaves = new BlockArea(-1, -1).setSize(12, 8);
+
+    @Test
+    public void testFlat() {
+        assertEquals(region(10, 10), new RectangularRoof(base, eaves, 10).getBoundingRegion());
+        assertEquals(region(10, 11), new FlatRoof(base, eaves, 10, 1).getBoundingRegion());
+        assertEquals(region(10, 12), new BattlementRoof(base, eaves, 10, 2).getBoundingRegion());
+    }
+
+    @Test
+    public void testHip() {
+        // the center is 3 blocks away from the long edges
+        assertEquals(region(10, 13), new HipRoof(base, eaves, 10, 1).getBoundingRegion());
+        assertEquals(region(10, 12), new HipRoof(base, eaves, 10, 1, 12).getBoundingRegion());
+
+        // the steep slope is two blocks thick
+        assertEquals(region(10, 17), new HipRoof(base, eaves, 10, 2).getBoundingRegion());
+    }
+
+    @Test
+    public void testSaddle() {
+        // the ridge runs along the x axis, across the short side
+        assertEquals(region(10, 13), new SaddleRoof(base, eaves, 10, Orientation.EAST, 1).getBoundingRegion());
+        assertEquals(region(10, 15), new SaddleRoof(base, eaves, 10, Orientation.NORTH, 1).getBoundingRegion());
+        assertEquals(region(10, 15), new SaddleRoof(base, eaves, 10, Orientation.WEST, 1.5).getBoundingRegion());
+    }
+
+    @Test
+    public void testPent() {
+        assertEquals(region(10, 13), new PentRoof(base, eaves, 10, Orientation.NORTH, 0.5).getBoundingRegion());
+        assertEquals(region(10, 15), new PentRoof(base, eaves, 10, Orientation.EAST, 0.5).getBoundingRegion());
+        assertEquals(region(10, 19), new PentRoof(base, eaves, 10, Orientation.SOUTHWEST, 0.5).getBoundingRegion());
+        assertEquals(region(10, 33), new PentRoof(base, eaves, 10, Orientation.EAST, 2).getBoundingRegion());
+    }
+
+    @Test
+    public void testDome() {
+        assertEquals(region(10, 14), new DomeRoof(base, eaves, 10, 4).getBoundingRegion());
+    }
+
+    @Test
+    public void testConic() {
+        assertEquals(new BlockRegion(2, 10, 3, 8, 13, 9), new ConicRoof(new Vector2i(5, 6), 3, 10, 1).getBoundingRegion());
+        assertEquals(new BlockRegion(2, 10, 3, 8, 17, 9), new ConicRoof(new Vector2i(5, 6), 3, 10, 2).getBoundingRegion());
+    }
+
+    private BlockRegion region(int bottom, int top) {
+        return new BlockRegion(eaves.minX(), bottom, eaves.minY(), eaves.maxX(), top, eaves.maxY());
+    }
+}
@@ -0,0 +1,55 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.parcels;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.commonworld.Orientation;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests the {@link ParcelSeeds} class.
+ */
+public class ParcelSeedsTest {
+
+    @Test
+    public void testStableValue() {
+        // the value must never change, otherwise existing worlds would get different buildings
+        assertEquals(0xE19911CDE39B10F3L, ParcelSeeds.derive(12345, parcel(-40, 96, 10), Zone.RESIDENTIAL));
+    }
+
+    @Test
+    public void testIndependentOfSizeAndOrientation() {
+        assertEquals(ParcelSeeds.derive(7, parcel(3, 4, 10), Zone.COMMERCIAL),
+                     ParcelSeeds.derive(7, parcel(3, 4, 20), Zone.COMMERCIAL));
+    }
+
+    @Test
+    public void testInputsChangeSeed() {
+        long seed = ParcelSeeds.derive(7, parcel(3, 4, 10), Zone.COMMERCIAL);
+        assertNotEquals(seed, ParcelSeeds.derive(8, parcel(3, 4, 10), Zone.COMMERCIAL));
+        assertNotEquals(seed, ParcelSeeds.derive(7, parcel(4, 3, 10), Zone.COMMERCIAL));
+        assertNotEquals(seed, ParcelSeeds.derive(7, parcel(3, 5, 10), Zone.COMMERCIAL));
+        assertNotEquals(seed, ParcelSeeds.derive(7, parcel(3, 4, 10), Zone.CLERICAL));
+    }
+
+    private static Parcel parcel(int x, int z, int size) {
+        BlockAreac shape = new BlockArea(x, z).setSize(size, size);
+        return new Parcel() {
+
+            @Override
+            public BlockAreac getShape() {
+                return shape;
+            }
+
+            @Override
+            public Orientation getOrientation() {
+                return Orientation.NORTH;
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.terasology.cities.DefaultBlockType.AIR;
+import static org.terasology.cities.DefaultBlockType.BUILDING_WALL;
+import static org.terasology.cities.DefaultBlockType.FENCE;
+
+/**
+ * Tests the {@link CheckedRasterTarget} class.
+ */
+public class CheckedRasterTargetTest {
+
+    private final List<String> warnings = new ArrayList<>();
+
+    private final MemoryRasterTarget memory = new MemoryRasterTarget(new BlockRegion(10, 2, 20).setSize(4, 3, 4));
+    private final CheckedRasterTarget target = new CheckedRasterTarget(memory, createLogger());
+
+    @Test
+    public void testInsideWrites() {
+        target.setBlock(10, 2, 20, FENCE);
+        target.setBlock(13, 4, 23, FENCE, (byte) 0);
+        target.fillColumn(11, 21, 2, 5, BUILDING_WALL);
+
+        assertEquals(FENCE, memory.getBlockType(10, 2, 20));
+        assertEquals(FENCE, memory.getBlockType(13, 4, 23));
+        assertEquals(Arrays.asList(BUILDING_WALL, BUILDING_WALL, BUILDING_WALL), memory.getColumn(11, 21));
+        assertEquals(0, target.getOutOfRangeCount());
+        assertEquals(0, warnings.size());
+    }
+
+    @Test
+    public void testOutsideWritesDropped() {
+        target.setBlock(9, 2, 20, FENCE);
+        target.setBlock(10, 5, 20, FENCE);
+        target.setBlock(10, 2, 24, FENCE, (byte) 0);
+        target.fillColumn(14, 20, 2, 5, BUILDING_WALL);
+
+        assertEquals(6, target.getOutOfRangeCount());
+        assertEquals(Arrays.asList(AIR, AIR, AIR), memory.getColumn(10, 20));
+        assertEquals(Arrays.asList(AIR, AIR, AIR), memory.getColumn(13, 20));
+    }
+
+    @Test
+    public void testColumnsClipped() {
+        target.fillColumn(12, 22, 0, 3, BUILDING_WALL);
+        target.fillColumn(12, 23, 4, 10, FENCE);
+        target.fillColumn(12, 21, 5, 8, FENCE);
+        target.fillColumn(12, 20, 3, 3, FENCE);
+
+        assertEquals(Arrays.asList(BUILDING_WALL, AIR, AIR), memory.getColumn(12, 22));
+        assertEquals(Arrays.asList(AIR, AIR, FENCE), memory.getColumn(12, 23));
+        assertEquals(Arrays.asList(AIR, AIR, AIR), memory.getColumn(12, 21));
+        assertEquals(Arrays.asList(AIR, AIR, AIR), memory.getColumn(12, 20));
+
+        // 2 below, 5 above, 3 completely above, empty columns are not counted
+        assertEquals(10, target.getOutOfRangeCount());
+    }
+
+    @Test
+    public void testOnlyFirstViolationLogged() {
+        target.setBlock(0, 0, 0, FENCE);
+        target.fillColumn(0, 0, 0, 10, FENCE);
+        target.setBlock(100, 3, 21, FENCE);
+
+        assertEquals(12, target.getOutOfRangeCount());
+        assertEquals(1, warnings.size());
+    }
+
+    private Logger createLogger() {
+        return (Logger) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Logger.class}, (proxy, method, args) -> {
+            if (method.getName().equals("warn")) {
+                warnings.add(String.valueOf(args[0]));
+            }
+            return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+        });
+    }
+}
@@ -0,0 +1,102 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.cities.BlockType;
+import org.terasology.cities.DefaultBlockType;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the {@link ImageRasterTarget} class.
+ */
+public class ImageRasterTargetTest {
+
+    @Test
+    public void testDirectAccessMatchesSetRGB() {
+        int[] types = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_ARGB_PRE};
+        for (int type : types) {
+            // draw into the lower right part of a larger image to test the sub-image offsets
+            BufferedImage parent = new BufferedImage(20, 16, type);
+            BufferedImage direct = parent.getSubimage(7, 5, 10, 8);
+            BufferedImage reference = new BufferedImage(10, 8, BufferedImage.TYPE_3BYTE_BGR);
+
+            ImageRasterTarget directTarget = render(direct);
+            ImageRasterTarget referenceTarget = render(reference);
+
+            for (int z = 0; z < 8; z++) {
+                for (int x = 0; x < 10; x++) {
+                    // unpainted pixels differ in alpha between image types
+                    int rgb = direct.getRGB(x, z);
+                    assertEquals(reference.getRGB(x, z) & 0xFFFFFF, rgb & 0xFFFFFF, "type " + type + " at " + x + "/" + z);
+                    if (directTarget.getBlockType(x - 3, z + 2) != null) {
+                        assertEquals(0xFF, rgb >>> 24);
+                    }
+                    assertEquals(referenceTarget.getHeight(x - 3, z + 2), directTarget.getHeight(x - 3, z + 2));
+                    assertEquals(referenceTarget.getBlockType(x - 3, z + 2), directTarget.getBlockType(x - 3, z + 2));
+                }
+            }
+
+            // pixels outside of the sub-image remain untouched
+            assertEquals(0, parent.getRGB(6, 5) & 0xFFFFFF);
+            assertEquals(0, parent.getRGB(7, 4) & 0xFFFFFF);
+        }
+    }
+
+    @Test
+    public void testHeightAndAir() {
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        ImageRasterTarget target = new ImageRasterTarget(0, 0, image, ImageRasterTargetTest::color);
+
+        target.fillColumn(1, 1, 0, 10, DefaultBlockType.BUILDING_WALL);
+        assertEquals(9, target.getHeight(1, 1));
+        assertEquals(DefaultBlockType.BUILDING_WALL, target.getBlockType(1, 1));
+
+        target.setBlock(1, 9, 1, DefaultBlockType.AIR);
+        assertEquals(8, target.getHeight(1, 1));
+
+        // blocks without color are ignored
+        target.setBlock(1, 20, 1, DefaultBlockType.FENCE);
+        assertEquals(8, target.getHeight(1, 1));
+        assertEquals(null, target.getBlockType(2, 2));
+    }
+
+    @Test
+    public void testColumnReachingTop() {
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        ImageRasterTarget target = new ImageRasterTarget(0, 0, image, ImageRasterTargetTest::color);
+
+        // the top is exclusive, so the topmost block of the region is written
+        target.fillColumn(2, 3, 0, target.getMaxHeight() + 1, DefaultBlockType.BUILDING_WALL);
+        assertEquals(target.getMaxHeight(), target.getHeight(2, 3));
+
+        target.fillColumn(1, 3, 0, Integer.MAX_VALUE, DefaultBlockType.BUILDING_WALL);
+        assertEquals(target.getMaxHeight(), target.getHeight(1, 3));
+    }
+
+    private static ImageRasterTarget render(BufferedImage image) {
+        ImageRasterTarget target = new ImageRasterTarget(-3, 2, image, ImageRasterTargetTest::color);
+        for (int z = 2; z < 10; z++) {
+            for (int x = -3; x < 7; x++) {
+                int height = (x * 5 + z * 3) % 23 - 2;
+                target.fillColumn(x, z, height - 3, height + 1, (x + z) % 3 == 0 ? DefaultBlockType.ROAD_SURFACE : DefaultBlockType.BUILDING_WALL);
+            }
+        }
+        return target;
+    }
+
+    private static Color color(BlockType type) {
+        if (type == DefaultBlockType.ROAD_SURFACE) {
+            return new Color(160, 150, 90);
+        }
+        if (type == DefaultBlockType.BUILDING_WALL) {
+            return new Color(90, 110, 200);
+        }
+        return null;
+    }
+}
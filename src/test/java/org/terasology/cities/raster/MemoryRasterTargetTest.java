@@ -0,0 +1,54 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.terasology.cities.DefaultBlockType.AIR;
+import static org.terasology.cities.DefaultBlockType.BUILDING_FLOOR;
+import static org.terasology.cities.DefaultBlockType.BUILDING_WALL;
+import static org.terasology.cities.DefaultBlockType.FENCE;
+
+/**
+ * Tests the {@link MemoryRasterTarget} class.
+ */
+public class MemoryRasterTargetTest {
+
+    @Test
+    public void testSetBlock() {
+        MemoryRasterTarget target = new MemoryRasterTarget(new BlockRegion(-10, 5, 20).setSize(4, 3, 2));
+        target.setBlock(-10, 5, 20, FENCE);
+        target.setBlock(-7, 7, 21, BUILDING_WALL);
+        target.setBlock(-7, 6, 21, FENCE);
+
+        assertEquals(Arrays.asList(FENCE, AIR, AIR), target.getColumn(-10, 20));
+        assertEquals(Arrays.asList(AIR, FENCE, BUILDING_WALL), target.getColumn(-7, 21));
+        assertEquals(Arrays.asList(AIR, AIR, AIR), target.getColumn(-7, 20));
+        assertEquals(BUILDING_WALL, target.getBlockType(-7, 7, 21));
+    }
+
+    @Test
+    public void testFillColumnClipped() {
+        MemoryRasterTarget target = new MemoryRasterTarget(2, 6);
+        target.fillColumn(3, 4, -5, 4, BUILDING_FLOOR);
+        target.fillColumn(3, 4, 5, 100, BUILDING_WALL);
+        target.fillColumn(3, 5, 10, 20, BUILDING_WALL);
+
+        assertEquals(Arrays.asList(BUILDING_FLOOR, BUILDING_FLOOR, AIR, BUILDING_WALL, BUILDING_WALL), target.getColumn(3, 4));
+        assertEquals(Arrays.asList(AIR, AIR, AIR, AIR, AIR), target.getColumn(3, 5));
+    }
+
+    @Test
+    public void testClear() {
+        MemoryRasterTarget target = new MemoryRasterTarget(0, 1);
+        target.fillColumn(31, 31, 0, 2, FENCE);
+        target.clear();
+
+        assertEquals(Arrays.asList(AIR, AIR), target.getColumn(31, 31));
+    }
+}
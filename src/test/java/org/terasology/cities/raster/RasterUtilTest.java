@@ -0,0 +1,113 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.joml.Vector2i;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the span-based circle methods in {@link RasterUtil} against per-point reference implementations.
+ */
+public class RasterUtilTest {
+
+    private static final BlockAreac AREA = new BlockArea(-8, -5).setSize(20, 17);
+
+    @Test
+    public void testDrawCircle() {
+        for (int rad = 0; rad < 25; rad++) {
+            for (int cx = -12; cx <= 16; cx += 7) {
+                RecordingPen pen = new RecordingPen(AREA);
+                RasterUtil.drawCircle(new CheckedPen(pen), cx, 3, rad);
+                assertEquals(referenceCircle(cx, 3, rad), pen.points, "radius " + rad + " at " + cx);
+            }
+        }
+    }
+
+    @Test
+    public void testFillCircle() {
+        for (int rad = 0; rad < 25; rad++) {
+            for (int cx = -12; cx <= 16; cx += 7) {
+                RecordingPen pen = new RecordingPen(AREA);
+                RasterUtil.fillCircle(new CheckedPen(pen), cx, 3, rad);
+                assertEquals(referenceDisc(cx, 3, rad), pen.points, "radius " + rad + " at " + cx);
+            }
+        }
+    }
+
+    private static Set<Vector2i> referenceCircle(int cx, int cy, int rad) {
+        Set<Vector2i> points = new HashSet<>();
+        int d = -rad;
+        int x = rad;
+        int y = 0;
+        while (y <= x) {
+            addClipped(points, cx + x, cy + y);
+            addClipped(points, cx - x, cy + y);
+            addClipped(points, cx - x, cy - y);
+            addClipped(points, cx + x, cy - y);
+            addClipped(points, cx + y, cy + x);
+            addClipped(points, cx - y, cy + x);
+            addClipped(points, cx - y, cy - x);
+            addClipped(points, cx + y, cy - x);
+            d = d + 2 * y + 1;
+            y = y + 1;
+            if (d > 0) {
+                d = d - 2 * x + 2;
+                x = x - 1;
+            }
+        }
+        return points;
+    }
+
+    private static Set<Vector2i> referenceDisc(int cx, int cy, int rad) {
+        Set<Vector2i> points = new HashSet<>();
+        double radSq = (rad + 0.5) * (rad + 0.5);
+        for (int y = -rad; y <= rad; y++) {
+            for (int x = -rad; x <= rad; x++) {
+                if (x * x + y * y <= radSq) {
+                    addClipped(points, cx + x, cy + y);
+                }
+            }
+        }
+        return points;
+    }
+
+    private static void addClipped(Set<Vector2i> points, int x, int z) {
+        if (AREA.contains(x, z)) {
+            points.add(new Vector2i(x, z));
+        }
+    }
+
+    /**
+     * Records all drawn points and fails if a point is drawn outside the area.
+     */
+    private static class RecordingPen implements Pen {
+
+        private final BlockAreac area;
+        private final Set<Vector2i> points = new HashSet<>();
+
+        RecordingPen(BlockAreac area) {
+            this.area = area;
+        }
+
+        @Override
+        public void draw(int x, int z) {
+            if (!area.contains(x, z)) {
+                throw new IllegalArgumentException("Outside: " + x + "/" + z);
+            }
+            points.add(new Vector2i(x, z));
+        }
+
+        @Override
+        public BlockAreac getTargetArea() {
+            return area;
+        }
+    }
+}
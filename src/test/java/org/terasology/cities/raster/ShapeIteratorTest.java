@@ -0,0 +1,72 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the {@link ShapeIterator} class.
+ */
+public class ShapeIteratorTest {
+
+    @Test
+    public void testRectangle() {
+        ShapeIterator it = new ShapeIterator(new Rectangle(1, 2, 3, 4), 0.1);
+        double[] segments = new double[20];
+
+        // the path returns to the start point explicitly, so closing it adds an empty segment
+        assertEquals(5, it.getSegments(segments));
+        assertArrayEquals(new double[] {
+                1, 2, 4, 2,
+                4, 2, 4, 6,
+                4, 6, 1, 6,
+                1, 6, 1, 2,
+                1, 2, 1, 2}, segments);
+    }
+
+    @Test
+    public void testSameSegments() {
+        Shape shape = new Ellipse2D.Double(-5, 3, 20, 12);
+        ShapeIterator it = new ShapeIterator(shape, 0.2);
+
+        List<Double> expected = new ArrayList<>();
+        for (Line2D seg : it) {
+            expected.add(seg.getX1());
+            expected.add(seg.getY1());
+            expected.add(seg.getX2());
+            expected.add(seg.getY2());
+        }
+
+        List<Double> visited = new ArrayList<>();
+        it.visitSegments((x0, y0, x1, y1) -> {
+            visited.add(x0);
+            visited.add(y0);
+            visited.add(x1);
+            visited.add(y1);
+        });
+        assertEquals(expected, visited);
+
+        // a too small array is filled as far as possible, but all segments are counted
+        double[] small = new double[6];
+        assertEquals(expected.size() / 4, it.getSegments(small));
+        assertEquals(expected.get(3), small[3]);
+        assertEquals(0.0, small[4]);
+
+        double[] all = new double[expected.size()];
+        it.getSegments(all);
+        for (int i = 0; i < all.length; i++) {
+            assertEquals(expected.get(i), all[i]);
+        }
+    }
+}
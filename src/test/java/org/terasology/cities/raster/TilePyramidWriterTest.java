@@ -0,0 +1,105 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link TilePyramidWriter} class.
+ */
+public class TilePyramidWriterTest {
+
+    private static final int BLACK = 0xFF000000;
+    private static final int GREEN = 0xFF00FF00;
+
+    private final BlockAreac area = new BlockArea(0, 0).setSize(4, 4);
+
+    @TempDir
+    Path root;
+
+    @Test
+    public void testPyramid() throws IOException {
+        TilePyramidWriter writer = new TilePyramidWriter(root, 4, 1);
+
+        BufferedImage full = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        full.setRGB(0, 0, 0x102030);
+        full.setRGB(1, 0, 0x304050);
+        full.setRGB(0, 1, 0x506070);
+        full.setRGB(1, 1, 0x708090);
+        writer.accept(0, 0, area, full);
+
+        // border tiles can be smaller than the tile size
+        BufferedImage border = new BufferedImage(2, 3, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 2; x++) {
+                border.setRGB(x, y, GREEN);
+            }
+        }
+        writer.accept(1, 0, area, border);
+
+        assertEquals(root.resolve("1").resolve("0").resolve("0.png"), writer.getTilePath(1, 0, 0));
+        assertTrue(Files.exists(writer.getTilePath(1, 0, 0)));
+        assertTrue(Files.exists(writer.getTilePath(1, 1, 0)));
+        assertFalse(Files.exists(writer.getTilePath(1, 0, 1)));
+
+        BufferedImage padded = read(writer.getTilePath(1, 1, 0));
+        assertEquals(4, padded.getWidth());
+        assertEquals(4, padded.getHeight());
+        assertEquals(GREEN, padded.getRGB(1, 2));
+        assertEquals(BLACK, padded.getRGB(2, 0));
+        assertEquals(BLACK, padded.getRGB(0, 3));
+
+        writer.finish();
+
+        BufferedImage parent = read(writer.getTilePath(0, 0, 0));
+        assertEquals(0xFF405060, parent.getRGB(0, 0));
+        assertEquals(BLACK, parent.getRGB(1, 0));
+        assertEquals(GREEN, parent.getRGB(2, 0));
+        assertEquals(0xFF008000, parent.getRGB(2, 1));
+        assertEquals(BLACK, parent.getRGB(3, 0));
+
+        // the children in the bottom row are missing
+        for (int x = 0; x < 4; x++) {
+            assertEquals(BLACK, parent.getRGB(x, 2));
+            assertEquals(BLACK, parent.getRGB(x, 3));
+        }
+    }
+
+    @Test
+    public void testOutsideRejected() {
+        TilePyramidWriter writer = new TilePyramidWriter(root, 4, 1);
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+
+        assertThrows(IOException.class, () -> writer.accept(-1, 0, area, image));
+        assertThrows(IOException.class, () -> writer.accept(0, -1, area, image));
+        assertThrows(IOException.class, () -> writer.accept(2, 0, area, image));
+        assertThrows(IOException.class, () -> writer.accept(0, 2, area, image));
+    }
+
+    @Test
+    public void testRequiredZoom() {
+        assertEquals(0, TilePyramidWriter.getRequiredZoom(new BlockArea(-5, 3).setSize(16, 16), 16));
+        assertEquals(1, TilePyramidWriter.getRequiredZoom(new BlockArea(0, 0).setSize(17, 1), 16));
+        assertEquals(3, TilePyramidWriter.getRequiredZoom(new BlockArea(-20, 7).setSize(70, 45), 16));
+        assertEquals(3, TilePyramidWriter.getRequiredZoom(new BlockArea(0, 0).setSize(10, 128), 16));
+    }
+
+    private static BufferedImage read(Path file) throws IOException {
+        return ImageIO.read(file.toFile());
+    }
+}
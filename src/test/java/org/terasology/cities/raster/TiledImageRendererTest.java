@@ -0,0 +1,85 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.cities.BlockType;
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.commonworld.heightmap.HeightMap;
+import org.terasology.commonworld.heightmap.HeightMaps;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the {@link TiledImageRenderer} class.
+ */
+public class TiledImageRendererTest {
+
+    private final BlockAreac area = new BlockArea(-20, 7).setSize(70, 45);
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    private final Consumer<RasterTarget> rasterizer = target -> {
+        HeightMap terrain = (x, z) -> Math.floorMod(x * 3 + z * 5, 19);
+        RasterUtil.fillRect(Pens.fill(target, HeightMaps.constant(0), terrain, DefaultBlockType.ROAD_SURFACE), target.getAffectedArea());
+        RasterUtil.fillCircle(Pens.fill(target, 0, 12, DefaultBlockType.BUILDING_WALL), 10, 30, 14);
+    };
+
+    @AfterEach
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testStitched() {
+        BufferedImage expected = renderSingle();
+        TiledImageRenderer renderer = new TiledImageRenderer(pool, 16, TiledImageRendererTest::color);
+        BufferedImage image = renderer.render(area, rasterizer);
+
+        assertSameImage(expected, image);
+    }
+
+    @Test
+    public void testStreamed() throws IOException {
+        BufferedImage expected = renderSingle();
+        BufferedImage image = new BufferedImage(area.getSizeX(), area.getSizeY(), BufferedImage.TYPE_INT_RGB);
+        TiledImageRenderer renderer = new TiledImageRenderer(pool, 16, TiledImageRendererTest::color);
+        renderer.render(area, rasterizer, (tileX, tileZ, tileArea, tile) -> {
+            assertEquals(area.minX() + tileX * 16, tileArea.minX());
+            assertEquals(area.minY() + tileZ * 16, tileArea.minY());
+            synchronized (image) {
+                image.getGraphics().drawImage(tile, tileArea.minX() - area.minX(), tileArea.minY() - area.minY(), null);
+            }
+        });
+
+        assertSameImage(expected, image);
+    }
+
+    private BufferedImage renderSingle() {
+        BufferedImage image = new BufferedImage(area.getSizeX(), area.getSizeY(), BufferedImage.TYPE_INT_RGB);
+        rasterizer.accept(new ImageRasterTarget(area.minX(), area.minY(), image, TiledImageRendererTest::color));
+        return image;
+    }
+
+    private static void assertSameImage(BufferedImage expected, BufferedImage actual) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "Pixel " + x + "/" + y);
+            }
+        }
+    }
+
+    private static Color color(BlockType type) {
+        return (type == DefaultBlockType.ROAD_SURFACE) ? Color.GRAY : Color.ORANGE;
+    }
+}
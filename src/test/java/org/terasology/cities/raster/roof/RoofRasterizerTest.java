@@ -0,0 +1,113 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.cities.raster.roof;
+
+import org.joml.Vector2i;
+import org.junit.jupiter.api.Test;
+import org.terasology.cities.DefaultBlockType;
+import org.terasology.cities.model.roof.BattlementRoof;
+import org.terasology.cities.model.roof.ConicRoof;
+import org.terasology.cities.model.roof.DomeRoof;
+import org.terasology.cities.model.roof.FlatRoof;
+import org.terasology.cities.model.roof.HipRoof;
+import org.terasology.cities.model.roof.PentRoof;
+import org.terasology.cities.model.roof.Roof;
+import org.terasology.cities.model.roof.SaddleRoof;
+import org.terasology.cities.raster.MemoryRasterTarget;
+import org.terasology.commonworld.Orientation;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the roof rasterizers through the {@link CompositeRoofRasterizer}.
+ */
+public class RoofRasterizerTest {
+
+    private final BlockAreac base = new BlockArea(-5, 3).setSize(9, 12);
+    private final BlockAreac eaves = new BlockArea(-6, 2).setSize(11, 14);
+
+    private final List<Roof> roofs = Arrays.asList(
+            new HipRoof(base, eaves, 20, 1.5),
+            new HipRoof(base, eaves, 20, 1, 22),
+            new SaddleRoof(base, eaves, 20, Orientation.EAST, 0.5),
+            new SaddleRoof(base, eaves, 20, Orientation.NORTH, 2),
+            new PentRoof(base, eaves, 20, Orientation.WEST, 0.7),
+            new PentRoof(base, eaves, 20, Orientation.SOUTHEAST, 0.5),
+            new DomeRoof(base, eaves, 20, 6),
+            new FlatRoof(base, eaves, 20, 1),
+            new BattlementRoof(base, eaves, 20, 2),
+            new ConicRoof(new Vector2i(-1, 8), 6, 20, 1),
+            new ConicRoof(new Vector2i(2, 5), 5, 20, 2),
+            new ConicRoof(new Vector2i(0, 8), 7, 20, 0));
+
+    private final CompositeRoofRasterizer rasterizer = CompositeRoofRasterizer.createDefault();
+
+    @Test
+    public void testInsideBoundingRegion() {
+        for (Roof roof : roofs) {
+            BlockRegionc bounds = roof.getBoundingRegion();
+            MemoryRasterTarget target = new MemoryRasterTarget(new BlockRegion(bounds).expand(2, 2, 2));
+            rasterizer.raster(target, roof);
+
+            int maxY = Integer.MIN_VALUE;
+            BlockRegionc region = target.getAffectedRegion();
+            for (int x = region.minX(); x <= region.maxX(); x++) {
+                for (int z = region.minZ(); z <= region.maxZ(); z++) {
+                    for (int y = region.minY(); y <= region.maxY(); y++) {
+                        if (target.getBlockType(x, y, z) != DefaultBlockType.AIR) {
+                            assertTrue(bounds.contains(x, y, z), roof + " at " + x + "/" + y + "/" + z);
+                            maxY = Math.max(maxY, y);
+                        }
+                    }
+                }
+            }
+            if (!(roof instanceof DomeRoof)) {
+                assertEquals(bounds.maxY(), maxY, roof.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @Test
+    public void testChunkedEqualsWhole() {
+        for (Roof roof : roofs) {
+            BlockRegionc bounds = roof.getBoundingRegion();
+            MemoryRasterTarget whole = new MemoryRasterTarget(bounds);
+            rasterizer.raster(whole, roof);
+
+            // split at x = 0 and z = 8 like chunk borders
+            for (BlockRegion part : Arrays.asList(
+                    new BlockRegion(bounds.minX(), bounds.minY(), bounds.minZ(), -1, bounds.maxY(), 7),
+                    new BlockRegion(0, bounds.minY(), bounds.minZ(), bounds.maxX(), bounds.maxY(), 7),
+                    new BlockRegion(bounds.minX(), bounds.minY(), 8, -1, bounds.maxY(), bounds.maxZ()),
+                    new BlockRegion(0, bounds.minY(), 8, bounds.maxX(), bounds.maxY(), bounds.maxZ()))) {
+                MemoryRasterTarget chunk = new MemoryRasterTarget(part);
+                rasterizer.raster(chunk, roof);
+                for (int x = part.minX(); x <= part.maxX(); x++) {
+                    for (int z = part.minZ(); z <= part.maxZ(); z++) {
+                        assertEquals(whole.getColumn(x, z), chunk.getColumn(x, z));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConicRing() {
+        for (int distSq = 0; distSq < 10000; distSq++) {
+            int k = 0;
+            while (distSq > k * k + k) {
+                k++;
+            }
+            assertEquals(k, ConicRoofRasterizer.ring(distSq));
+        }
+    }
+}